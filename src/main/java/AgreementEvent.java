@@ -0,0 +1,34 @@
+/**
+ * A slot in an {@link AgreementEventFeed}.  Events are allocated once when the feed is created and reused for every lap
+ * around the ring, so publishing an agreement does not allocate.  Consumers must not hold on to an event after their
+ * handler returns, as its contents will be overwritten once the producers wrap around to it.
+ * <p>
+ * Each event holds either a single tool {@link RentalAgreement} or a consolidated {@link CartRentalAgreement}, and the
+ * other is null.  Cart agreements are published whole so that consumers see the cart-level discount and final charge.
+ */
+public class AgreementEvent {
+    private RentalAgreement agreement;
+    private CartRentalAgreement cartAgreement;
+
+    public boolean isCart () {
+        return cartAgreement != null;
+    }
+
+    public RentalAgreement getAgreement () {
+        return agreement;
+    }
+
+    public CartRentalAgreement getCartAgreement () {
+        return cartAgreement;
+    }
+
+    void setAgreement (RentalAgreement agreement) {
+        this.agreement = agreement;
+        this.cartAgreement = null;
+    }
+
+    void setCartAgreement (CartRentalAgreement cartAgreement) {
+        this.agreement = null;
+        this.cartAgreement = cartAgreement;
+    }
+}
@@ -0,0 +1,62 @@
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reads the events of an {@link AgreementEventFeed} in order and hands them to an {@link AgreementEventHandler}.  All
+ * events that are available when the consumer wakes up are handled as one batch before its sequence is advanced, so a
+ * consumer that falls behind catches up without waiting between events.
+ */
+public class AgreementEventConsumer implements Runnable {
+    private final AgreementEventFeed feed;
+    private final AgreementEventHandler handler;
+    private final AtomicLong sequence;
+    private volatile boolean running = true;
+
+    /**
+     * Constructor
+     * @param feed The {@link AgreementEventFeed} to read from.
+     * @param handler The {@link AgreementEventHandler} to call for each event.
+     * @param initialSequence The sequence of the last event this consumer should be considered to have read.
+     */
+    AgreementEventConsumer(AgreementEventFeed feed, AgreementEventHandler handler, long initialSequence){
+        this.feed = feed;
+        this.handler = handler;
+        this.sequence = new AtomicLong(initialSequence);
+    }
+
+    @Override
+    public void run(){
+        long nextSequence = sequence.get() + 1;
+        while(running){
+            long availableSequence = feed.waitFor(nextSequence, this);
+            if(availableSequence < nextSequence){
+                //Either halted, or a producer has claimed the next sequence but not yet published it
+                feed.getWaitStrategy().backOff();
+                continue;
+            }
+            for(; nextSequence <= availableSequence; nextSequence++){
+                handler.onEvent(feed.get(nextSequence), nextSequence, nextSequence == availableSequence);
+            }
+            sequence.lazySet(availableSequence);
+        }
+    }
+
+    /**
+     * Stops the consumer once it finishes its current batch and stops producers from waiting for it.
+     */
+    public void halt(){
+        running = false;
+        feed.removeConsumer(this);
+        feed.getWaitStrategy().signalAllWhenBlocking();
+    }
+
+    public boolean isRunning(){
+        return running;
+    }
+
+    /**
+     * @return The sequence of the last event this consumer has finished handling.
+     */
+    AtomicLong getSequence () {
+        return sequence;
+    }
+}
@@ -0,0 +1,205 @@
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * An in-process feed of completed {@link RentalAgreement}s and {@link CartRentalAgreement}s, for consumers such as
+ * accounting, inventory dashboards and the ledger.  Agreements are published into a pre-allocated ring of
+ * {@link AgreementEvent}s, and every consumer reads the whole feed in order, tracking its own position with a sequence
+ * number.
+ * <p>
+ * Publishing is a two-step claim and publish so that no locks are taken on the hot path.  A single producer claims
+ * sequences with a plain counter, while multiple producers claim them with a compare-and-set on the shared cursor and
+ * then mark each slot as available once it is written.  A producer only waits when it would overwrite an event that the
+ * slowest consumer has not read yet.
+ */
+public class AgreementEventFeed {
+    /**
+     * Whether agreements are published to the feed from one thread or from several.
+     */
+    public enum ProducerType {
+        SINGLE,
+        MULTI
+    }
+
+    private final AgreementEvent[] entries;
+    private final int bufferSize;
+    private final int indexMask;
+    private final int indexShift;
+    private final ProducerType producerType;
+    private final WaitStrategy waitStrategy;
+
+    //For a single producer, the cursor is the highest published sequence.  For multiple producers, it is the highest
+    //claimed sequence, and availableFlags records which lap of the ring each slot was last published for.
+    private final AtomicLong cursor = new AtomicLong(-1);
+    private final AtomicIntegerArray availableFlags;
+    private long nextValue = -1; //Only used by a single producer
+    private volatile long cachedGatingSequence = -1;
+    private volatile AtomicLong[] gatingSequences = new AtomicLong[0];
+
+    /**
+     * Constructor
+     * @param bufferSize The number of events in the ring.  Must be a power of 2.
+     * @param producerType Whether agreements will be published from one thread or from several.
+     * @param waitStrategy The {@link WaitStrategy} consumers use to wait for new events.
+     * @throws RuntimeException if the buffer size is not a power of 2.
+     */
+    public AgreementEventFeed(int bufferSize, ProducerType producerType, WaitStrategy waitStrategy) throws RuntimeException{
+        if(bufferSize < 1 || Integer.bitCount(bufferSize) != 1){
+            throw new RuntimeException("The buffer size of the feed must be a power of 2.");
+        }
+        this.bufferSize = bufferSize;
+        this.indexMask = bufferSize - 1;
+        this.indexShift = Integer.numberOfTrailingZeros(bufferSize);
+        this.producerType = producerType;
+        this.waitStrategy = waitStrategy;
+        this.entries = new AgreementEvent[bufferSize];
+        for(int i = 0; i < bufferSize; i++){
+            entries[i] = new AgreementEvent();
+        }
+        this.availableFlags = new AtomicIntegerArray(producerType == ProducerType.MULTI ? bufferSize : 0);
+        for(int i = 0; i < availableFlags.length(); i++){
+            availableFlags.set(i, -1);
+        }
+    }
+
+    /**
+     * Publishes an agreement to every consumer of the feed.
+     * @param agreement The {@link RentalAgreement} to publish.
+     */
+    public void publish(RentalAgreement agreement){
+        long sequence = next();
+        try{
+            get(sequence).setAgreement(agreement);
+        }finally{
+            publish(sequence);
+        }
+    }
+
+    /**
+     * Publishes a consolidated cart agreement to every consumer of the feed.
+     * @param cartAgreement The {@link CartRentalAgreement} to publish.
+     */
+    public void publish(CartRentalAgreement cartAgreement){
+        long sequence = next();
+        try{
+            get(sequence).setCartAgreement(cartAgreement);
+        }finally{
+            publish(sequence);
+        }
+    }
+
+    /**
+     * Adds a consumer that will read every event published from now on.  The consumer must be run on its own thread,
+     * and should be added before publishing starts if it must not miss any events.
+     * @param handler The {@link AgreementEventHandler} to call for each event.
+     * @return The {@link AgreementEventConsumer}, ready to be run.
+     */
+    public synchronized AgreementEventConsumer addConsumer(AgreementEventHandler handler){
+        AgreementEventConsumer consumer = new AgreementEventConsumer(this, handler, cursor.get());
+        AtomicLong[] updatedSequences = Arrays.copyOf(gatingSequences, gatingSequences.length + 1);
+        updatedSequences[gatingSequences.length] = consumer.getSequence();
+        gatingSequences = updatedSequences;
+        return consumer;
+    }
+
+    /**
+     * Removes a consumer so that producers no longer wait for it.  Called by the consumer when it is halted.
+     * @param consumer The {@link AgreementEventConsumer} to remove.
+     */
+    synchronized void removeConsumer(AgreementEventConsumer consumer){
+        gatingSequences = Arrays.stream(gatingSequences).filter(sequence -> sequence != consumer.getSequence()).toArray(AtomicLong[]::new);
+    }
+
+    /**
+     * Claims the next sequence in the ring, waiting if the slowest consumer has not yet read the event it would overwrite.
+     * @return The claimed sequence.
+     */
+    private long next(){
+        if(producerType == ProducerType.SINGLE){
+            long nextSequence = nextValue + 1;
+            waitForCapacity(nextSequence - bufferSize);
+            nextValue = nextSequence;
+            return nextSequence;
+        }
+        while(true){
+            long current = cursor.get();
+            long nextSequence = current + 1;
+            long wrapPoint = nextSequence - bufferSize;
+            if(wrapPoint > cachedGatingSequence){
+                long gatingSequence = getMinimumGatingSequence(current);
+                if(wrapPoint > gatingSequence){
+                    LockSupport.parkNanos(1);
+                    continue;
+                }
+                cachedGatingSequence = gatingSequence;
+            }else if(cursor.compareAndSet(current, nextSequence)){
+                return nextSequence;
+            }
+        }
+    }
+
+    private void waitForCapacity(long wrapPoint){
+        if(wrapPoint > cachedGatingSequence){
+            long gatingSequence;
+            while(wrapPoint > (gatingSequence = getMinimumGatingSequence(nextValue))){
+                LockSupport.parkNanos(1);
+            }
+            cachedGatingSequence = gatingSequence;
+        }
+    }
+
+    /**
+     * Makes the event at the given sequence visible to consumers.
+     * @param sequence The sequence claimed by {@link #next()}.
+     */
+    private void publish(long sequence){
+        if(producerType == ProducerType.SINGLE){
+            cursor.lazySet(sequence);
+        }else{
+            availableFlags.lazySet((int) (sequence & indexMask), (int) (sequence >>> indexShift));
+        }
+        waitStrategy.signalAllWhenBlocking();
+    }
+
+    /**
+     * Waits for events from the given sequence onwards to be published.
+     * @param sequence The next sequence the consumer wants to read.
+     * @param consumer The {@link AgreementEventConsumer} that is waiting.
+     * @return The highest sequence that can be read, which is less than the given sequence if the consumer was halted or
+     * if a producer has claimed the sequence but not yet published it.  In the latter case the consumer should
+     * {@link WaitStrategy#backOff()} before calling again.
+     */
+    long waitFor(long sequence, AgreementEventConsumer consumer){
+        long availableSequence = waitStrategy.waitFor(sequence, cursor, consumer);
+        if(producerType == ProducerType.SINGLE || availableSequence < sequence){
+            return availableSequence;
+        }
+        for(long nextSequence = sequence; nextSequence <= availableSequence; nextSequence++){
+            if(availableFlags.get((int) (nextSequence & indexMask)) != (int) (nextSequence >>> indexShift)){
+                return nextSequence - 1;
+            }
+        }
+        return availableSequence;
+    }
+
+    AgreementEvent get(long sequence){
+        return entries[(int) (sequence & indexMask)];
+    }
+
+    WaitStrategy getWaitStrategy () {
+        return waitStrategy;
+    }
+
+    private long getMinimumGatingSequence(long minimum){
+        for(AtomicLong sequence : gatingSequences){
+            minimum = Math.min(minimum, sequence.get());
+        }
+        return minimum;
+    }
+
+    public int getBufferSize () {
+        return bufferSize;
+    }
+}
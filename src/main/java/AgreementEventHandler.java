@@ -0,0 +1,12 @@
+/**
+ * Callback for consuming the events published to an {@link AgreementEventFeed}.
+ */
+public interface AgreementEventHandler {
+    /**
+     * Called once for each published event, in sequence order.
+     * @param event The {@link AgreementEvent} holding the published agreement.
+     * @param sequence The sequence number of the event in the feed.
+     * @param endOfBatch Whether this is the last event currently available, e.g. so that work can be flushed in batches.
+     */
+    void onEvent(AgreementEvent event, long sequence, boolean endOfBatch);
+}
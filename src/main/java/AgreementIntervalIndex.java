@@ -0,0 +1,261 @@
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * An index of open {@link RentalAgreement}s keyed on the [checkout date, due date] range of each rental.  Used to find
+ * the agreements affected by a calendar or rate change so that only those agreements have to be re-priced.
+ * <p>
+ * The index splits the epoch-day timeline into fixed width buckets, and each agreement is placed into every bucket its
+ * range overlaps.  Most rentals only last a few days, so an agreement usually lives in one or two buckets, and a query
+ * only has to look at the buckets its own range overlaps.
+ * <p>
+ * This class is not thread safe.
+ */
+public class AgreementIntervalIndex {
+    private static final int BUCKET_BITS = 4; //16 days per bucket
+
+    private final Map<Long, Set<RentalAgreement>> buckets = new HashMap<>();
+    private int size;
+
+    /**
+     * Adds an agreement to the index.
+     * @param agreement The {@link RentalAgreement} to add.
+     * @return true if the agreement was not already in the index.
+     */
+    public boolean add(RentalAgreement agreement){
+        boolean added = false;
+        for(long bucket = firstBucket(agreement); bucket <= lastBucket(agreement); bucket++){
+            if(buckets.computeIfAbsent(bucket, key -> new LinkedHashSet<>()).add(agreement)){
+                added = true;
+            }
+        }
+        if(added){
+            size++;
+        }
+        return added;
+    }
+
+    /**
+     * Removes an agreement from the index, e.g. once the tool has been returned.
+     * @param agreement The {@link RentalAgreement} to remove.
+     * @return true if the agreement was in the index.
+     */
+    public boolean remove(RentalAgreement agreement){
+        boolean removed = false;
+        for(long bucket = firstBucket(agreement); bucket <= lastBucket(agreement); bucket++){
+            Set<RentalAgreement> agreements = buckets.get(bucket);
+            if(agreements != null && agreements.remove(agreement)){
+                removed = true;
+                if(agreements.isEmpty()){
+                    buckets.remove(bucket);
+                }
+            }
+        }
+        if(removed){
+            size--;
+        }
+        return removed;
+    }
+
+    /**
+     * Finds every agreement whose [checkout date, due date] range contains the given date.
+     * @param date The date to check, e.g. a newly added holiday.
+     * @return A {@link List} of the matching agreements.
+     */
+    public List<RentalAgreement> findContaining(LocalDate date){
+        return findOverlapping(date, date);
+    }
+
+    /**
+     * Finds every agreement charged for the given date, i.e. whose (checkout date, due date] charge window contains it.
+     * The checkout date itself is never charged, so a holiday on the checkout date does not change the price.
+     * @param date The date to check, e.g. a newly added holiday.
+     * @return A {@link List} of the matching agreements.
+     */
+    public List<RentalAgreement> findChargedOn(LocalDate date){
+        List<RentalAgreement> matches = new ArrayList<>();
+        for(RentalAgreement agreement : findContaining(date)){
+            if(agreement.getCheckoutDate().isBefore(date)){
+                matches.add(agreement);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Finds every agreement whose [checkout date, due date] range overlaps the given window.
+     * @param fromDate The first date of the window, inclusive.
+     * @param toDate The last date of the window, inclusive.
+     * @return A {@link List} of the matching agreements.
+     */
+    public List<RentalAgreement> findOverlapping(LocalDate fromDate, LocalDate toDate){
+        long firstBucket = fromDate.toEpochDay() >> BUCKET_BITS;
+        long lastBucket = toDate.toEpochDay() >> BUCKET_BITS;
+        //Agreements spanning several buckets of the window would otherwise be returned more than once
+        Set<RentalAgreement> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<RentalAgreement> matches = new ArrayList<>();
+        for(long bucket = firstBucket; bucket <= lastBucket; bucket++){
+            Set<RentalAgreement> agreements = buckets.get(bucket);
+            if(agreements == null){
+                continue;
+            }
+            for(RentalAgreement agreement : agreements){
+                if(!agreement.getCheckoutDate().isAfter(toDate) && !agreement.getDueDate().isBefore(fromDate) && seen.add(agreement)){
+                    matches.add(agreement);
+                }
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Re-prices every agreement charged for the given date after it becomes a holiday, e.g. an unplanned store closure.
+     * Agreements whose price changed are replaced in the index by the {@link RepricingDelta#getRepriced()} agreement.
+     * @param holiday The date of the added holiday.
+     * @return A {@link List} of {@link RepricingDelta}s for the agreements whose price changed.
+     */
+    public List<RepricingDelta> addHoliday(LocalDate holiday){
+        return reprice(findChargedOn(holiday), previous -> {
+            Set<LocalDate> additionalHolidays = new HashSet<>(previous.getAdditionalHolidays());
+            additionalHolidays.add(holiday);
+            return rebuild(previous, Set.copyOf(additionalHolidays), previous.getDailyCharge());
+        });
+    }
+
+    /**
+     * Re-prices every agreement charged for the given date after a holiday added by {@link #addHoliday(LocalDate)} is
+     * removed again.  Agreements whose price changed are replaced in the index by the {@link RepricingDelta#getRepriced()}
+     * agreement.
+     * @param holiday The date of the removed holiday.
+     * @return A {@link List} of {@link RepricingDelta}s for the agreements whose price changed.
+     */
+    public List<RepricingDelta> removeHoliday(LocalDate holiday){
+        return reprice(findChargedOn(holiday), previous -> {
+            Set<LocalDate> additionalHolidays = new HashSet<>(previous.getAdditionalHolidays());
+            additionalHolidays.remove(holiday);
+            return rebuild(previous, Set.copyOf(additionalHolidays), previous.getDailyCharge());
+        });
+    }
+
+    /**
+     * Re-prices every agreement for the given tool type whose range overlaps the window a rate change is effective for.
+     * Each affected agreement is re-priced in full at the new daily charge.
+     * @param toolType The {@link Tool.ToolType} whose rate changed.
+     * @param dailyCharge The new daily charge for the tool type.
+     * @param fromDate The first date the rate change is effective for, inclusive.
+     * @param toDate The last date the rate change is effective for, inclusive.
+     * @return A {@link List} of {@link RepricingDelta}s for the agreements whose price changed.
+     */
+    public List<RepricingDelta> reprice(Tool.ToolType toolType, float dailyCharge, LocalDate fromDate, LocalDate toDate){
+        List<RentalAgreement> affected = new ArrayList<>();
+        for(RentalAgreement agreement : findOverlapping(fromDate, toDate)){
+            if(agreement.getTool().getToolType() == toolType){
+                affected.add(agreement);
+            }
+        }
+        return reprice(affected, previous -> rebuild(previous, previous.getAdditionalHolidays(), dailyCharge));
+    }
+
+    /**
+     * Rebuilds each of the given agreements with the changed calendar or rate.  Only agreements whose price changed are
+     * swapped for their rebuilt version; the rest stay in the index as they are, so references held by callers remain
+     * valid.
+     * @param affected The agreements to re-price.
+     * @param rebuild Builds the re-priced version of an agreement.
+     * @return A {@link List} of {@link RepricingDelta}s for the agreements whose price changed and were swapped.
+     */
+    private List<RepricingDelta> reprice(List<RentalAgreement> affected, Function<RentalAgreement, RentalAgreement> rebuild){
+        List<RepricingDelta> deltas = new ArrayList<>();
+        for(RentalAgreement previous : affected){
+            RepricingDelta delta = new RepricingDelta(previous, rebuild.apply(previous));
+            if(delta.hasChanged()){
+                remove(previous);
+                add(delta.getRepriced());
+                deltas.add(delta);
+            }
+        }
+        return deltas;
+    }
+
+    private static RentalAgreement rebuild(RentalAgreement previous, Set<LocalDate> additionalHolidays, float dailyCharge){
+        return new RentalAgreement(previous.getTool(), previous.getRentalDays(), previous.getDiscountPercent(), previous.getCheckoutDate(),
+            additionalHolidays, dailyCharge);
+    }
+
+    private static long firstBucket(RentalAgreement agreement){
+        return agreement.getCheckoutDate().toEpochDay() >> BUCKET_BITS;
+    }
+
+    private static long lastBucket(RentalAgreement agreement){
+        return agreement.getDueDate().toEpochDay() >> BUCKET_BITS;
+    }
+
+    public int size () {
+        return size;
+    }
+
+    /**
+     * Data structure describing how the price of an agreement changed when it was re-priced.
+     */
+    public static class RepricingDelta {
+        private final RentalAgreement previous;
+        private final RentalAgreement repriced;
+        private final long chargeDaysDelta;
+        private final float finalChargeDelta;
+
+        /**
+         * Constructor.
+         * @param previous The {@link RentalAgreement} as it was priced before the change.
+         * @param repriced The {@link RentalAgreement} as it is priced after the change.
+         */
+        public RepricingDelta(RentalAgreement previous, RentalAgreement repriced){
+            this.previous = previous;
+            this.repriced = repriced;
+            this.chargeDaysDelta = repriced.getChargeDays() - previous.getChargeDays();
+            this.finalChargeDelta = BigDecimal.valueOf(repriced.getFinalCharge()).subtract(BigDecimal.valueOf(previous.getFinalCharge()))
+                .setScale(2, RoundingMode.HALF_UP).floatValue();
+        }
+
+        public boolean hasChanged(){
+            return chargeDaysDelta != 0 || finalChargeDelta != 0;
+        }
+
+        /**
+         * Prints the delta and its values to the console.
+         */
+        public void print(){
+            System.out.println("Tool Code: " + previous.getTool().getToolCode());
+            System.out.println("Checkout Date: " + previous.getCheckoutDate().format(DateTimeFormatter.ofPattern("M/d/yy")));
+            System.out.println("Charge Days: " + previous.getChargeDays() + " -> " + repriced.getChargeDays());
+            System.out.println("Final Charge: $" + String.format("%.02f", previous.getFinalCharge()) + " -> $" + String.format("%.02f", repriced.getFinalCharge()));
+        }
+
+        public RentalAgreement getPrevious () {
+            return previous;
+        }
+
+        public RentalAgreement getRepriced () {
+            return repriced;
+        }
+
+        public long getChargeDaysDelta () {
+            return chargeDaysDelta;
+        }
+
+        public float getFinalChargeDelta () {
+            return finalChargeDelta;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed-size, thread safe Bloom filter of Strings.  A negative answer from {@link #mightContain(String)} is always
+ * correct, while a positive answer is wrong at about the configured false positive rate once the expected number of
+ * values has been added.
+ */
+public class BloomFilter {
+    private final AtomicLongArray bits;
+    private final long bitMask;
+    private final int hashCount;
+
+    /**
+     * Constructor
+     * @param expectedInsertions The number of values the filter is sized for.
+     * @param falsePositiveRate The rate of false positives to size the filter for, between 0 and 1 exclusively.
+     * @throws RuntimeException if the expected insertions or false positive rate are out of range.
+     */
+    public BloomFilter(int expectedInsertions, double falsePositiveRate) throws RuntimeException{
+        if(expectedInsertions < 1){
+            throw new RuntimeException("The expected insertions of a Bloom filter must be 1 or greater.");
+        }
+        if(falsePositiveRate <= 0 || falsePositiveRate >= 1){
+            throw new RuntimeException("The false positive rate of a Bloom filter must be between 0 and 1 exclusively.");
+        }
+        //Round the optimal size up to a power of 2 so that bit indexes can be masked instead of divided
+        long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        long bitCount = Math.max(64, Long.highestOneBit(optimalBits - 1) << 1);
+        this.bits = new AtomicLongArray((int) (bitCount / 64));
+        this.bitMask = bitCount - 1;
+        this.hashCount = Math.max(1, (int) Math.round((double) optimalBits / expectedInsertions * Math.log(2)));
+    }
+
+    /**
+     * Adds a value to the filter.
+     * @param value The String to add.
+     */
+    public void add(String value){
+        long hash = mix(value);
+        int hash1 = (int) hash;
+        int hash2 = (int) (hash >>> 32) | 1;
+        for(int i = 0; i < hashCount; i++){
+            long bitIndex = (hash1 + (long) i * hash2) & bitMask;
+            int wordIndex = (int) (bitIndex >>> 6);
+            long bit = 1L << bitIndex;
+            long word;
+            while(((word = bits.get(wordIndex)) & bit) == 0 && !bits.compareAndSet(wordIndex, word, word | bit)){
+                //Another thread changed the word first, so retry with its value
+            }
+        }
+    }
+
+    /**
+     * Checks whether a value may have been added to the filter.
+     * @param value The String to check.
+     * @return false if the value has definitely not been added, true if it probably has.
+     */
+    public boolean mightContain(String value){
+        long hash = mix(value);
+        int hash1 = (int) hash;
+        int hash2 = (int) (hash >>> 32) | 1;
+        for(int i = 0; i < hashCount; i++){
+            long bitIndex = (hash1 + (long) i * hash2) & bitMask;
+            if((bits.get((int) (bitIndex >>> 6)) & (1L << bitIndex)) == 0){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Removes every value from the filter.  Values added while the filter is being cleared may or may not be kept.
+     */
+    public void clear(){
+        for(int i = 0; i < bits.length(); i++){
+            bits.set(i, 0);
+        }
+    }
+
+    /**
+     * Spreads the cached hash code of the String over 64 bits, which are split into the two hashes used for double
+     * hashing.
+     */
+    private static long mix(String value){
+        long hash = value.hashCode() * 0x9E3779B97F4A7C15L;
+        hash ^= hash >>> 29;
+        hash *= 0xBF58476D1CE4E5B9L;
+        return hash ^ (hash >>> 32);
+    }
+}
@@ -0,0 +1,98 @@
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Class for checking out several tools for the same dates in one transaction.
+ */
+public class CartCheckout {
+    private final List<Tool> tools;
+    private final int rentalDays;
+    private final int discountPercentage;
+    private final LocalDate checkoutDate;
+    private final CartRentalAgreement rentalAgreement;
+
+    /**
+     * Constructor
+     * @param toolCodes The tool code Strings of the tools being rented.  A tool code may be listed more than once to rent
+     *                  several of the same tool.
+     * @param rentalDays The number of days the Tools are being rented for as a String.
+     * @param discountPercentage The percentage as a whole number between 0 (inclusive) and 100 (inclusive) to be discounted
+     *                           from the combined charge of the cart as a String
+     * @param checkoutDate The date that the tools are being checked out on as a String in MM/dd/yy format
+     * @throws RuntimeException if the cart is empty or any of the input is invalid.
+     */
+    public CartCheckout(List<String> toolCodes, String rentalDays, String discountPercentage, String checkoutDate) throws RuntimeException{
+        CartCheckoutEvent event = new CartCheckoutEvent();
+        event.begin();
+        try{
+            this.tools = processToolCodes(Checkout.inventory, toolCodes);
+            this.rentalDays = Checkout.processRentalDays(rentalDays);
+            this.discountPercentage = Checkout.processDiscountPercentage(discountPercentage);
+            this.checkoutDate = Checkout.processCheckoutDate(checkoutDate);
+            this.rentalAgreement = new CartRentalAgreement(this.tools, this.rentalDays, this.discountPercentage, this.checkoutDate);
+        }catch(RuntimeException e){
+            if(event.shouldCommit()){
+                event.toolCodes = String.join(",", toolCodes);
+                event.lineCount = toolCodes.size();
+                event.failure = e.getMessage();
+                event.commit();
+            }
+            throw e;
+        }
+
+        if(event.shouldCommit()){
+            event.toolCodes = String.join(",", toolCodes);
+            event.lineCount = rentalAgreement.getLineItems().size();
+            event.rentalDays = this.rentalDays;
+            event.discountPercent = this.discountPercentage;
+            event.finalCharge = rentalAgreement.getFinalCharge();
+            event.commit();
+        }
+    }
+
+    /**
+     * Constructor that also publishes the created cart rental agreement, with its cart-level discount, to downstream
+     * consumers.
+     * @param toolCodes The tool code Strings of the tools being rented.
+     * @param rentalDays The number of days the Tools are being rented for as a String.
+     * @param discountPercentage The percentage as a whole number between 0 (inclusive) and 100 (inclusive) to be discounted
+     *                           from the combined charge of the cart as a String
+     * @param checkoutDate The date that the tools are being checked out on as a String in MM/dd/yy format
+     * @param feed The {@link AgreementEventFeed} to publish the cart rental agreement to.
+     * @throws RuntimeException if the cart is empty or any of the input is invalid.
+     */
+    public CartCheckout(List<String> toolCodes, String rentalDays, String discountPercentage, String checkoutDate, AgreementEventFeed feed) throws RuntimeException{
+        this(toolCodes, rentalDays, discountPercentage, checkoutDate);
+        feed.publish(rentalAgreement);
+    }
+
+    /**
+     * Prints the rental agreement generated for the cart checkout instance.
+     */
+    public void printRentalAgreement(){
+        rentalAgreement.print();
+    }
+
+    /**
+     * Parses user input of several tool codes into {@link Tool} objects.
+     * @param inventory A {@link List<Tool>} of Tools that can be rented.
+     * @param enteredToolCodes The strings entered by the user for the tool codes.
+     * @return The Tool objects that are being rented, in the order they were entered.
+     * @throws RuntimeException if no tool codes were entered or if any of the tool codes is invalid.
+     */
+    public static List<Tool> processToolCodes (List<Tool> inventory, List<String> enteredToolCodes) throws RuntimeException{
+        if(enteredToolCodes.isEmpty()){
+            throw new RuntimeException("No Tool Codes were entered for the cart.  Please try again with at least one registered Tool Code.");
+        }
+        List<Tool> tools = new ArrayList<>();
+        for(String enteredToolCode : enteredToolCodes){
+            tools.add(Checkout.processToolCode(inventory, enteredToolCode));
+        }
+        return tools;
+    }
+
+    public CartRentalAgreement getRentalAgreement () {
+        return rentalAgreement;
+    }
+}
@@ -0,0 +1,36 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder event for the processing of a single {@link CartCheckout}, from parsing the user input through to
+ * the creation of the {@link CartRentalAgreement}.  Fields are only filled in when the event is going to be committed.
+ */
+@Name("cb0122.CartCheckout")
+@Label("Cart Checkout")
+@Category("Tool Rental")
+@Description("Processing of a cart checkout of several tools, including input validation and pricing")
+@StackTrace(false)
+public class CartCheckoutEvent extends jdk.jfr.Event {
+    @Label("Tool Codes")
+    @Description("The tool codes in the cart, separated by commas")
+    String toolCodes;
+
+    @Label("Line Count")
+    int lineCount;
+
+    @Label("Rental Days")
+    int rentalDays;
+
+    @Label("Discount Percent")
+    int discountPercent;
+
+    @Label("Final Charge")
+    float finalCharge;
+
+    @Label("Failure")
+    @Description("The reason the checkout was rejected, or null if it succeeded")
+    String failure;
+}
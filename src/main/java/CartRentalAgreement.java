@@ -0,0 +1,113 @@
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Data structure for representing a consolidated Rental Agreement covering several {@link Tool}s rented for the same
+ * dates.  Each tool is a line item holding its own {@link RentalAgreement}, and a cart-level discount is applied to the
+ * combined charge of all lines.
+ */
+public class CartRentalAgreement {
+    private final List<RentalAgreement> lineItems;
+    private final int rentalDays;
+    private final LocalDate checkoutDate;
+    private final LocalDate dueDate;
+    private final ChargeDayCalculator.DayCounts dayCounts;
+    private final float subTotal; //Sum of the line item charges before the cart discount
+    private final int discountPercent;
+    private final float discountAmount;
+    private final float finalCharge;
+
+    /**
+     * Constructor.  The weekday, weekend and holiday counts for the rental dates are calculated once and then shared by
+     * every line item.
+     * @param tools The {@link Tool}s being rented, one line item per tool.
+     * @param rentalDays The number of days the Tools are being rented for.
+     * @param discountPercent The percentage as a whole number between 0 (inclusive) and 100 (inclusive) to be discounted
+     *                        from the combined charge of the cart
+     * @param checkoutDate The date that the tools are being checked out on.
+     */
+    public CartRentalAgreement(List<Tool> tools, int rentalDays, int discountPercent, LocalDate checkoutDate){
+        this.rentalDays = rentalDays;
+        this.checkoutDate = checkoutDate;
+        this.dueDate = checkoutDate.plusDays(rentalDays);
+        //Charging flags are applied per line item, so the calculator's own flags are not used here
+        this.dayCounts = new ChargeDayCalculator(checkoutDate, false, false).countDays(dueDate);
+
+        List<RentalAgreement> lineItems = new ArrayList<>();
+        BigDecimal subTotal = BigDecimal.ZERO;
+        for(Tool tool : tools){
+            RentalAgreement lineItem = new RentalAgreement(tool, rentalDays, 0, checkoutDate, dayCounts);
+            lineItems.add(lineItem);
+            subTotal = subTotal.add(BigDecimal.valueOf(lineItem.getFinalCharge()));
+        }
+        this.lineItems = Collections.unmodifiableList(lineItems);
+        this.subTotal = subTotal.setScale(2, RoundingMode.HALF_UP).floatValue();
+        this.discountPercent = discountPercent;
+        this.discountAmount = BigDecimal.valueOf(this.subTotal * (discountPercent/100f)).setScale(2, RoundingMode.HALF_UP).floatValue();
+        this.finalCharge = BigDecimal.valueOf(this.subTotal - discountAmount).setScale(2, RoundingMode.HALF_UP).floatValue();
+    }
+
+    /**
+     * Prints the Cart Rental Agreement, its line items and its totals to the console.
+     */
+    public void print (){
+        System.out.println("Rental Days: " + rentalDays);
+        System.out.println("Checkout Date: " + checkoutDate.format(DateTimeFormatter.ofPattern("M/d/yy")));
+        System.out.println("Due Date: " + dueDate.format(DateTimeFormatter.ofPattern("M/d/yy")));
+        for(RentalAgreement lineItem : lineItems){
+            System.out.println();
+            System.out.println("Tool Code: " + lineItem.getTool().getToolCode());
+            System.out.println("Tool Type: " + lineItem.getTool().getToolType().getName());
+            System.out.println("Tool Brand: " + lineItem.getTool().getBrand());
+            System.out.println("Daily Rental Charge: $" + String.format("%.02f", lineItem.getTool().getToolType().getDailyCharge()));
+            System.out.println("Charge Days: " + lineItem.getChargeDays());
+            System.out.println("Line Charge: $" + String.format("%.02f", lineItem.getFinalCharge()));
+        }
+        System.out.println();
+        System.out.println("Pre-Discount Charge: $" + String.format("%.02f", subTotal));
+        System.out.println("Discount Percent: " + discountPercent + "%");
+        System.out.println("Discount Amount: $" + String.format("%.02f", discountAmount));
+        System.out.println("Final Charge: $" + String.format("%.02f", finalCharge));
+    }
+
+    public List<RentalAgreement> getLineItems () {
+        return lineItems;
+    }
+
+    public int getRentalDays () {
+        return rentalDays;
+    }
+
+    public LocalDate getCheckoutDate () {
+        return checkoutDate;
+    }
+
+    public LocalDate getDueDate () {
+        return dueDate;
+    }
+
+    public ChargeDayCalculator.DayCounts getDayCounts () {
+        return dayCounts;
+    }
+
+    public float getSubTotal () {
+        return subTotal;
+    }
+
+    public int getDiscountPercent () {
+        return discountPercent;
+    }
+
+    public float getDiscountAmount () {
+        return discountAmount;
+    }
+
+    public float getFinalCharge () {
+        return finalCharge;
+    }
+}
@@ -0,0 +1,36 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder event for a single {@link ChargeDayCalculator#queryFrom} or {@link ChargeDayCalculator#countDays}
+ * call.  Fields are only filled in when the event is going to be committed.
+ */
+@Name("cb0122.ChargeDayCalculation")
+@Label("Charge Day Calculation")
+@Category("Tool Rental")
+@Description("Counting the chargeable days between a checkout date and a due date")
+@StackTrace(false)
+public class ChargeDayCalculationEvent extends jdk.jfr.Event {
+    @Label("Branch")
+    @Description("Which days were excluded from the charge: NONE, HOLIDAYS, WEEKENDS or WEEKENDS_AND_HOLIDAYS, or "
+        + "DAY_COUNTS when each kind of day was counted once for a cart")
+    String branch;
+
+    @Label("Days Between")
+    long daysBetween;
+
+    @Label("Charge Days")
+    @Description("For DAY_COUNTS, the weekdays that are not holidays")
+    long chargeDays;
+
+    @Label("Weekend Days")
+    @Description("Only recorded for DAY_COUNTS")
+    long weekendDays;
+
+    @Label("Holidays")
+    @Description("Only recorded for DAY_COUNTS")
+    long holidays;
+}
@@ -5,6 +5,7 @@ import java.time.temporal.ChronoUnit;
 import java.time.temporal.TemporalAccessor;
 import java.time.temporal.TemporalAdjusters;
 import java.time.temporal.TemporalQuery;
+import java.util.Set;
 
 /**
  * A class for determining how many days between the checkout and due date of a {@link Tool} rental should be charged.
@@ -15,6 +16,7 @@ public class ChargeDayCalculator implements TemporalQuery<Long> {
     private final LocalDate checkoutDate;
     private final boolean chargeWeekends;
     private final boolean chargeHolidays;
+    private final Set<LocalDate> additionalHolidays;
 
     /**
      * Constructor
@@ -23,31 +25,83 @@ public class ChargeDayCalculator implements TemporalQuery<Long> {
      * @param chargeHolidays Whether or not holidays will be charged.
      */
     public ChargeDayCalculator(LocalDate checkoutDate, boolean chargeWeekends, boolean chargeHolidays){
+        this(checkoutDate, chargeWeekends, chargeHolidays, Set.of());
+    }
+
+    /**
+     * Constructor for a calendar with holidays on top of the 4th of July and Labor Day, e.g. a store closure.
+     * @param checkoutDate A {@link LocalDate} containing the date that the tool will be checked out on.
+     * @param chargeWeekends Whether or not weekend days will be charged.
+     * @param chargeHolidays Whether or not holidays will be charged.
+     * @param additionalHolidays The dates of the additional holidays.  Dates that fall on a weekend or on the 4th of July
+     *                           or Labor Day are not counted again.
+     */
+    public ChargeDayCalculator(LocalDate checkoutDate, boolean chargeWeekends, boolean chargeHolidays, Set<LocalDate> additionalHolidays){
         this.checkoutDate = checkoutDate;
         this.chargeWeekends = chargeWeekends;
         this.chargeHolidays = chargeHolidays;
+        this.additionalHolidays = additionalHolidays;
     }
 
     @Override
     public Long queryFrom (TemporalAccessor dueDate) {
+        ChargeDayCalculationEvent event = new ChargeDayCalculationEvent();
+        event.begin();
         LocalDate localDueDate = LocalDate.from(dueDate);
         long daysBetween = ChronoUnit.DAYS.between(checkoutDate, localDueDate);
+        long chargeDays = daysBetween;
 
+        String branch;
         if(chargeWeekends && chargeHolidays){
-            return daysBetween;
+            branch = "NONE";
         }else if(chargeWeekends){
-            daysBetween -= countHolidaysNotCharged(localDueDate);
+            branch = "HOLIDAYS";
+            chargeDays -= countHolidaysNotCharged(localDueDate);
         }else if(chargeHolidays){
-            daysBetween -= countWeekendsNotCharged(localDueDate);
+            branch = "WEEKENDS";
+            chargeDays -= countWeekendsNotCharged(localDueDate);
         }else{
-            daysBetween -= (countHolidaysNotCharged(localDueDate) + countWeekendsNotCharged(localDueDate));
+            branch = "WEEKENDS_AND_HOLIDAYS";
+            chargeDays -= (countHolidaysNotCharged(localDueDate) + countWeekendsNotCharged(localDueDate));
+        }
+
+        if(event.shouldCommit()){
+            event.branch = branch;
+            event.daysBetween = daysBetween;
+            event.chargeDays = chargeDays;
+            event.commit();
+        }
+        return chargeDays;
+    }
+
+    /**
+     * Counts the weekdays, weekend days and holidays between the checkout date and the due date, regardless of which of
+     * them are charged.  Used when several tools share the same dates so the counts only need to be calculated once,
+     * after which {@link DayCounts#getChargeDays(boolean, boolean)} applies the charging rules of each tool.
+     * @param dueDate The end date of the range to be counted
+     * @return The {@link DayCounts} for the range.
+     */
+    public DayCounts countDays(LocalDate dueDate){
+        ChargeDayCalculationEvent event = new ChargeDayCalculationEvent();
+        event.begin();
+        long daysBetween = ChronoUnit.DAYS.between(checkoutDate, dueDate);
+        DayCounts dayCounts = new DayCounts(daysBetween, countWeekendsNotCharged(dueDate), countHolidaysNotCharged(dueDate));
+
+        if(event.shouldCommit()){
+            event.branch = "DAY_COUNTS";
+            event.daysBetween = daysBetween;
+            event.chargeDays = dayCounts.getWeekdays();
+            event.weekendDays = dayCounts.getWeekendDays();
+            event.holidays = dayCounts.getHolidays();
+            event.commit();
         }
-        return daysBetween;
+        return dayCounts;
     }
 
     /**
-     * Counts the number of holidays between the checkout date and the due date.  Only the 4th of July and Labor Day
-     * are considered for counting.  The 4th of July is counted on the nearest weekday if it occurs on a weekend.
+     * Counts the number of holidays between the checkout date and the due date.  The 4th of July and Labor Day are
+     * always considered for counting, along with any additional holidays.  The 4th of July is counted on the nearest
+     * weekday if it occurs on a weekend.
      * @param dueDate The end date of the range to be checked
      * @return The number of holidays between the checkout date and due date
      */
@@ -89,34 +143,111 @@ public class ChargeDayCalculator implements TemporalQuery<Long> {
             chargeDays++;
         }
 
+        for(LocalDate holiday : additionalHolidays){
+            if(holiday.isAfter(checkoutDate) && !holiday.isAfter(dueDate) && !isWeekend(holiday) && !isObservedHoliday(holiday)){
+                chargeDays++;
+            }
+        }
+
         return chargeDays;
     }
 
+    private static boolean isWeekend(LocalDate date){
+        return date.getDayOfWeek().equals(DayOfWeek.SATURDAY) || date.getDayOfWeek().equals(DayOfWeek.SUNDAY);
+    }
+
+    /**
+     * Checks whether the date is the weekday the 4th of July or Labor Day is observed on, so that an additional holiday on
+     * the same day is not counted twice.
+     */
+    private static boolean isObservedHoliday(LocalDate date){
+        LocalDate independenceDay = LocalDate.of(date.getYear(), Month.JULY.getValue(), 4);
+        switch(independenceDay.getDayOfWeek()){
+            case SATURDAY:
+                independenceDay = independenceDay.minusDays(1);
+                break;
+            case SUNDAY:
+                independenceDay = independenceDay.plusDays(1);
+                break;
+            default:
+                break;
+        }
+        LocalDate laborDay = LocalDate.of(date.getYear(), Month.SEPTEMBER.getValue(), 1).with(TemporalAdjusters.firstInMonth(DayOfWeek.MONDAY));
+        return date.equals(independenceDay) || date.equals(laborDay);
+    }
+
     /**
      * Counts the number of weekend days between the checkout date and the due date.
      * @param dueDate The end date of the range to be checked
      * @return The number of weekend days between the checkout date and the due date.
      */
     private int countWeekendsNotCharged(LocalDate dueDate){
-        int chargeDays = 0;
-        //Determine if checkout is on sat.  If not, subtract 1
-        if(checkoutDate.getDayOfWeek().equals(DayOfWeek.SATURDAY)){
-            chargeDays++;
-        }else{
-            chargeDays += 2;
+        //Every full week in the range contains exactly one weekend
+        long daysBetween = ChronoUnit.DAYS.between(checkoutDate, dueDate);
+        long fullWeeks = daysBetween / 7;
+        int chargeDays = (int) (fullWeeks * 2);
+
+        //Check the leftover days after the full weeks individually, as they may or may not reach a weekend
+        for(LocalDate date = checkoutDate.plusWeeks(fullWeeks).plusDays(1); !date.isAfter(dueDate); date = date.plusDays(1)){
+            if(isWeekend(date)){
+                chargeDays++;
+            }
         }
+        return chargeDays;
+    }
 
-        //Count weeks between first sun and due day and subtract 2 for each week
-        LocalDate firstSundayAfterCheckout = checkoutDate.with(TemporalAdjusters.next(DayOfWeek.SUNDAY));
-        long weeksBetween = ChronoUnit.WEEKS.between(firstSundayAfterCheckout, dueDate);
-        chargeDays += (weeksBetween * 2);
+    /**
+     * Data structure holding the number of each kind of day between a checkout date and a due date.  Holidays are always
+     * counted on the weekday they are observed on, so no day is counted as both a weekend day and a holiday.
+     */
+    public static class DayCounts {
+        private final long totalDays;
+        private final long weekendDays;
+        private final long holidays;
 
-        //Determine if there is a sat after counted weeks but before/on due day
-        LocalDate dateAfterWeeks = firstSundayAfterCheckout.plusWeeks(weeksBetween);
-        LocalDate nextSaturday = dateAfterWeeks.with(TemporalAdjusters.next(DayOfWeek.SATURDAY));
-        if(nextSaturday.isBefore(dueDate) || nextSaturday.isEqual(dueDate)){
-            chargeDays++;
+        /**
+         * Constructor
+         * @param totalDays The number of days between the checkout date and the due date.
+         * @param weekendDays The number of those days that fall on a weekend.
+         * @param holidays The number of those days that are observed holidays.
+         */
+        public DayCounts(long totalDays, long weekendDays, long holidays){
+            this.totalDays = totalDays;
+            this.weekendDays = weekendDays;
+            this.holidays = holidays;
+        }
+
+        /**
+         * Calculates how many of the days are charged under the given charging rules.
+         * @param chargeWeekends Whether or not weekend days will be charged.
+         * @param chargeHolidays Whether or not holidays will be charged.
+         * @return The number of charge days.
+         */
+        public long getChargeDays(boolean chargeWeekends, boolean chargeHolidays){
+            long chargeDays = totalDays;
+            if(!chargeWeekends){
+                chargeDays -= weekendDays;
+            }
+            if(!chargeHolidays){
+                chargeDays -= holidays;
+            }
+            return chargeDays;
+        }
+
+        public long getTotalDays () {
+            return totalDays;
+        }
+
+        public long getWeekdays () {
+            return totalDays - weekendDays - holidays;
+        }
+
+        public long getWeekendDays () {
+            return weekendDays;
+        }
+
+        public long getHolidays () {
+            return holidays;
         }
-        return chargeDays;
     }
 }
@@ -14,12 +14,12 @@ import java.util.stream.Collectors;
  */
 public class Checkout {
     //Create Tools to fill an 'inventory' to be used by the checkout application
-    private final Tool stihlChainsaw = new Tool.Builder("CHNS").setToolType(Tool.ToolType.CHAINSAW).setBrand("Stihl").build();
-    private final Tool wernerLadder = new Tool.Builder("LADW").setToolType(Tool.ToolType.LADDER).setBrand("Werner").build();
-    private final Tool dewaltJackhammer = new Tool.Builder("JAKD").setToolType(Tool.ToolType.JACKHAMMER).setBrand("DeWalt").build();
-    private final Tool ridgidJackhammer = new Tool.Builder("JAKR").setToolType(Tool.ToolType.JACKHAMMER).setBrand("Ridgid").build();
+    private static final Tool stihlChainsaw = new Tool.Builder("CHNS").setToolType(Tool.ToolType.CHAINSAW).setBrand("Stihl").build();
+    private static final Tool wernerLadder = new Tool.Builder("LADW").setToolType(Tool.ToolType.LADDER).setBrand("Werner").build();
+    private static final Tool dewaltJackhammer = new Tool.Builder("JAKD").setToolType(Tool.ToolType.JACKHAMMER).setBrand("DeWalt").build();
+    private static final Tool ridgidJackhammer = new Tool.Builder("JAKR").setToolType(Tool.ToolType.JACKHAMMER).setBrand("Ridgid").build();
 
-    private final List<Tool> inventory = List.of(stihlChainsaw, wernerLadder, dewaltJackhammer, ridgidJackhammer);
+    static final List<Tool> inventory = List.of(stihlChainsaw, wernerLadder, dewaltJackhammer, ridgidJackhammer);
     private final Tool tool;
     private final int rentalDays;
     private final int discountPercentage;
@@ -62,11 +62,45 @@ public class Checkout {
      * @param checkoutDate The date that the tool is being checked out on as a String in MM/dd/yy format
      */
     public Checkout(String toolCode, String rentalDays, String discountPercentage, String checkoutDate){
-        this.tool = processToolCode(inventory, toolCode);
-        this.rentalDays = processRentalDays(rentalDays);
-        this.discountPercentage = processDiscountPercentage(discountPercentage);
-        this.checkoutDate = processCheckoutDate(checkoutDate);
-        this.rentalAgreement = new RentalAgreement(this.tool, this.rentalDays, this.discountPercentage, this.checkoutDate);
+        CheckoutEvent event = new CheckoutEvent();
+        event.begin();
+        try{
+            this.tool = processToolCode(inventory, toolCode);
+            this.rentalDays = processRentalDays(rentalDays);
+            this.discountPercentage = processDiscountPercentage(discountPercentage);
+            this.checkoutDate = processCheckoutDate(checkoutDate);
+            this.rentalAgreement = new RentalAgreement(this.tool, this.rentalDays, this.discountPercentage, this.checkoutDate);
+        }catch(RuntimeException e){
+            if(event.shouldCommit()){
+                event.toolCode = toolCode;
+                event.failure = e.getMessage();
+                event.commit();
+            }
+            throw e;
+        }
+
+        if(event.shouldCommit()){
+            event.toolCode = toolCode;
+            event.toolType = tool.getToolType().name();
+            event.rentalDays = this.rentalDays;
+            event.discountPercent = this.discountPercentage;
+            event.chargeDays = rentalAgreement.getChargeDays();
+            event.finalCharge = rentalAgreement.getFinalCharge();
+            event.commit();
+        }
+    }
+
+    /**
+     * Constructor that also publishes the created rental agreement to downstream consumers.
+     * @param toolCode The tool code String of the tool being rented
+     * @param rentalDays The number of days the Tool is being rented for as a String.
+     * @param discountPercentage The percentage as a whole number between 0 (inclusive) and 100 (inclusive) to be discounted from the charge as a String
+     * @param checkoutDate The date that the tool is being checked out on as a String in MM/dd/yy format
+     * @param feed The {@link AgreementEventFeed} to publish the rental agreement to.
+     */
+    public Checkout(String toolCode, String rentalDays, String discountPercentage, String checkoutDate, AgreementEventFeed feed){
+        this(toolCode, rentalDays, discountPercentage, checkoutDate);
+        feed.publish(this.rentalAgreement);
     }
 
     /**
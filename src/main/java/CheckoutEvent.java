@@ -0,0 +1,38 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder event for the processing of a single {@link Checkout}, from parsing the user input through to
+ * the creation of the {@link RentalAgreement}.  Fields are only filled in when the event is going to be committed.
+ */
+@Name("cb0122.Checkout")
+@Label("Checkout")
+@Category("Tool Rental")
+@Description("Processing of a tool checkout, including input validation and pricing")
+@StackTrace(false)
+public class CheckoutEvent extends jdk.jfr.Event {
+    @Label("Tool Code")
+    String toolCode;
+
+    @Label("Tool Type")
+    String toolType;
+
+    @Label("Rental Days")
+    int rentalDays;
+
+    @Label("Discount Percent")
+    int discountPercent;
+
+    @Label("Charge Days")
+    long chargeDays;
+
+    @Label("Final Charge")
+    float finalCharge;
+
+    @Label("Failure")
+    @Description("The reason the checkout was rejected, or null if it succeeded")
+    String failure;
+}
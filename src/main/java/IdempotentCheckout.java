@@ -0,0 +1,226 @@
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An idempotency layer in front of {@link Checkout} for terminals that retry checkouts on timeout.  Each checkout is
+ * keyed by a client request ID, and a retry with an ID that has already been seen gets the original
+ * {@link RentalAgreement} back instead of creating a duplicate rental.
+ * <p>
+ * Request IDs are remembered in a ring of time buckets that together cover the retention window.  When time moves into
+ * a new bucket, the oldest bucket is cleared and reused, so memory is bounded by the number of requests in one window.
+ * Each bucket has a {@link BloomFilter} in front of its table, so a new ID, which is the common case, is usually
+ * confirmed as new without touching any of the tables.
+ * <p>
+ * A retry that races the original request waits for the original to finish and then gets its agreement.  A request
+ * that fails validation is forgotten, so that its retry is validated again.  When a bucket is full, new requests are
+ * rejected rather than checked out without being remembered.
+ */
+public class IdempotentCheckout {
+    private final Bucket[] buckets;
+    private final long bucketMillis;
+    private final int maxRequestsPerBucket;
+    private final Clock clock;
+    private final AgreementEventFeed feed;
+
+    /**
+     * Constructor for {@link IdempotentCheckout} class.
+     * @param builder The {@link IdempotentCheckout.Builder} object created to build the checkout from.
+     */
+    private IdempotentCheckout(Builder builder){
+        this.bucketMillis = Math.max(1, builder.retentionWindow.toMillis() / builder.bucketCount);
+        this.maxRequestsPerBucket = builder.maxRequestsPerBucket;
+        this.clock = builder.clock;
+        this.feed = builder.feed;
+        this.buckets = new Bucket[builder.bucketCount];
+        for(int i = 0; i < buckets.length; i++){
+            buckets[i] = new Bucket(builder.maxRequestsPerBucket, builder.falsePositiveRate);
+        }
+    }
+
+    /**
+     * Checks out a tool, unless a checkout with the same request ID has already been made within the retention window.
+     * @param requestId The client's ID for the request, which is the same on every retry.
+     * @param toolCode The tool code String of the tool being rented
+     * @param rentalDays The number of days the Tool is being rented for as a String.
+     * @param discountPercentage The percentage as a whole number between 0 (inclusive) and 100 (inclusive) to be discounted from the charge as a String
+     * @param checkoutDate The date that the tool is being checked out on as a String in MM/dd/yy format
+     * @return The {@link RentalAgreement} created for the first request with this ID.
+     * @throws RuntimeException if the input is invalid, or if the maximum number of requests for the current bucket has
+     * been reached.
+     */
+    public RentalAgreement checkout(String requestId, String toolCode, String rentalDays, String discountPercentage, String checkoutDate) throws RuntimeException{
+        long epoch = clock.millis() / bucketMillis;
+        CompletableFuture<RentalAgreement> original = findRequest(requestId, epoch);
+        if(original != null){
+            return await(original);
+        }
+
+        Bucket currentBucket = bucketFor(epoch);
+        //Refuse requests that cannot be remembered, as checking them out would let their retries create duplicates
+        if(currentBucket.reservedCount.incrementAndGet() > maxRequestsPerBucket){
+            currentBucket.reservedCount.decrementAndGet();
+            throw new RuntimeException("Too many checkout requests were received in a short time.  Please retry the checkout shortly.");
+        }
+        CompletableFuture<RentalAgreement> pending = new CompletableFuture<>();
+        //Add to the filter before the table, so any request that can be found in the table also passes the filter
+        currentBucket.filter.add(requestId);
+        original = currentBucket.requests.putIfAbsent(requestId, pending);
+        if(original != null){
+            currentBucket.reservedCount.decrementAndGet();
+            return await(original);
+        }
+
+        try{
+            RentalAgreement agreement = feed == null
+                ? new Checkout(toolCode, rentalDays, discountPercentage, checkoutDate).getRentalAgreement()
+                : new Checkout(toolCode, rentalDays, discountPercentage, checkoutDate, feed).getRentalAgreement();
+            pending.complete(agreement);
+            return agreement;
+        }catch(Throwable e){
+            //Complete the request even on an Error, otherwise retries waiting on it would wait forever
+            if(currentBucket.requests.remove(requestId, pending)){
+                currentBucket.reservedCount.decrementAndGet();
+            }
+            pending.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Looks for a request ID in every bucket of the retention window, newest first.
+     * @return The pending or completed result of the original request, or null if the ID has not been seen.
+     */
+    private CompletableFuture<RentalAgreement> findRequest(String requestId, long epoch){
+        for(int age = 0; age < buckets.length; age++){
+            Bucket bucket = buckets[(int) Math.floorMod(epoch - age, (long) buckets.length)];
+            if(bucket.epoch == epoch - age && bucket.filter.mightContain(requestId)){
+                CompletableFuture<RentalAgreement> original = bucket.requests.get(requestId);
+                if(original != null){
+                    return original;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Finds the bucket for the given epoch, clearing it first if it still holds requests from an older epoch.
+     */
+    private Bucket bucketFor(long epoch){
+        Bucket bucket = buckets[(int) Math.floorMod(epoch, (long) buckets.length)];
+        if(bucket.epoch != epoch){
+            synchronized(bucket){
+                if(bucket.epoch < epoch){
+                    bucket.requests.clear();
+                    bucket.filter.clear();
+                    bucket.reservedCount.set(0);
+                    bucket.epoch = epoch;
+                }
+            }
+        }
+        return bucket;
+    }
+
+    /**
+     * Waits for the original request to finish, rethrowing its failure if it failed.
+     */
+    private static RentalAgreement await(CompletableFuture<RentalAgreement> original) throws RuntimeException{
+        try{
+            return original.join();
+        }catch(CompletionException e){
+            if(e.getCause() instanceof RuntimeException){
+                throw (RuntimeException) e.getCause();
+            }
+            if(e.getCause() instanceof Error){
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * The requests seen during one period of the retention window.
+     */
+    private static class Bucket {
+        private final ConcurrentHashMap<String, CompletableFuture<RentalAgreement>> requests;
+        private final BloomFilter filter;
+        private final AtomicInteger reservedCount = new AtomicInteger();
+        private volatile long epoch = Long.MIN_VALUE;
+
+        private Bucket(int maxRequests, double falsePositiveRate){
+            this.requests = new ConcurrentHashMap<>();
+            this.filter = new BloomFilter(maxRequests, falsePositiveRate);
+        }
+    }
+
+    /**
+     * Builder inner class to be used for creating {@link IdempotentCheckout} objects.  Defaults to remembering request
+     * IDs for 10 minutes in 10 buckets of up to 1,000,000 requests each, with a 1% false positive rate.
+     */
+    public static class Builder {
+        private Duration retentionWindow = Duration.ofMinutes(10);
+        private int bucketCount = 10;
+        private int maxRequestsPerBucket = 1_000_000;
+        private double falsePositiveRate = 0.01;
+        private Clock clock = Clock.systemUTC();
+        private AgreementEventFeed feed;
+
+        public Builder setRetentionWindow(Duration retentionWindow) {
+            this.retentionWindow = retentionWindow;
+            return this;
+        }
+
+        public Builder setBucketCount(int bucketCount) {
+            this.bucketCount = bucketCount;
+            return this;
+        }
+
+        /**
+         * Sets the number of requests remembered per bucket, which bounds memory under a burst.  Once a bucket is full,
+         * retries of requests already remembered still get their original agreement back, but new request IDs are
+         * rejected with a RuntimeException until time moves into the next bucket.
+         */
+        public Builder setMaxRequestsPerBucket(int maxRequestsPerBucket) {
+            this.maxRequestsPerBucket = maxRequestsPerBucket;
+            return this;
+        }
+
+        public Builder setFalsePositiveRate(double falsePositiveRate) {
+            this.falsePositiveRate = falsePositiveRate;
+            return this;
+        }
+
+        public Builder setClock(Clock clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        /**
+         * Sets an {@link AgreementEventFeed} to publish newly created agreements to.  Replayed agreements are not
+         * published again.
+         */
+        public Builder setFeed(AgreementEventFeed feed) {
+            this.feed = feed;
+            return this;
+        }
+
+        /**
+         * Builds the checkout.
+         * @return The built {@link IdempotentCheckout}.
+         * @throws RuntimeException if the configured values are out of range.
+         */
+        public IdempotentCheckout build() throws RuntimeException{
+            if(retentionWindow.isNegative() || retentionWindow.isZero()){
+                throw new RuntimeException("The retention window must be longer than zero.");
+            }
+            if(bucketCount < 1 || maxRequestsPerBucket < 1){
+                throw new RuntimeException("The bucket count and maximum requests per bucket must be 1 or greater.");
+            }
+            return new IdempotentCheckout(this);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/**
+ * A fixed-size histogram of latencies in nanoseconds, used by {@link LoadTest} to report percentiles.  Values are
+ * grouped into log-linear buckets: values below 128 are counted exactly and larger values are grouped into 64 buckets
+ * per power of two, which keeps every recorded value within about 1.6% of its true value.
+ * <p>
+ * This class is not thread safe.  Each thread should record into its own histogram and merge them with
+ * {@link #add(LatencyHistogram)} once recording is finished.
+ */
+public class LatencyHistogram {
+    private static final int LINEAR_BUCKETS = 128;
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = LINEAR_BUCKETS + (63 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKET_COUNT];
+    private long totalCount;
+    private long maxValue;
+
+    /**
+     * Records a single latency.
+     * @param value The latency in nanoseconds.  Negative values are recorded as 0.
+     */
+    public void record(long value){
+        value = Math.max(value, 0);
+        counts[bucketIndex(value)]++;
+        totalCount++;
+        maxValue = Math.max(maxValue, value);
+    }
+
+    /**
+     * Adds all of the values recorded in another histogram to this one.
+     * @param other The {@link LatencyHistogram} to add.
+     */
+    public void add(LatencyHistogram other){
+        for(int i = 0; i < BUCKET_COUNT; i++){
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+        maxValue = Math.max(maxValue, other.maxValue);
+    }
+
+    /**
+     * Finds the value at the given percentile.
+     * @param percentile The percentile between 0 and 100.
+     * @return The highest value in the bucket containing the percentile, or 0 if nothing was recorded.
+     */
+    public long getValueAtPercentile(double percentile){
+        if(totalCount == 0){
+            return 0;
+        }
+        long targetCount = Math.max(1, (long) Math.ceil(percentile / 100 * totalCount));
+        long seenCount = 0;
+        for(int i = 0; i < BUCKET_COUNT; i++){
+            seenCount += counts[i];
+            if(seenCount >= targetCount){
+                return Math.min(bucketUpperBound(i), maxValue);
+            }
+        }
+        return maxValue;
+    }
+
+    public long getTotalCount () {
+        return totalCount;
+    }
+
+    public long getMaxValue () {
+        return maxValue;
+    }
+
+    private static int bucketIndex(long value){
+        if(value < LINEAR_BUCKETS){
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return LINEAR_BUCKETS + (shift - 1) * SUB_BUCKETS + (int) ((value >> shift) - SUB_BUCKETS);
+    }
+
+    private static long bucketUpperBound(int index){
+        if(index < LINEAR_BUCKETS){
+            return index;
+        }
+        int shift = (index - LINEAR_BUCKETS) / SUB_BUCKETS + 1;
+        long subBucket = (index - LINEAR_BUCKETS) % SUB_BUCKETS + SUB_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,222 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A load-test harness that drives {@link Checkout} and {@link RentalAgreement} with requests from a
+ * {@link WorkloadGenerator} across a number of threads.
+ * <p>
+ * With a target rate the test runs open-loop: every request has an intended start time on a fixed schedule, and its
+ * response time is measured from that intended start rather than from when it was actually sent.  A stalled request
+ * therefore counts against every request queued up behind it, which corrects for coordinated omission.  Without a
+ * target rate the test runs closed-loop, sending each request as soon as the previous one completes, and the response
+ * time is the same as the service time.
+ */
+public class LoadTest {
+    private final WorkloadGenerator generator;
+    private final int threads;
+    private final double targetRate;
+    private final int requestCount;
+    private final long seed;
+
+    /**
+     * Main method for running a load test from the command line.
+     * @param args Optional arguments: the thread count, the total request count and the target rate in requests per
+     *             second, where a rate of 0 runs the test closed-loop.
+     */
+    public static void main (String[] args) throws InterruptedException {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        int requestCount = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+        double targetRate = args.length > 2 ? Double.parseDouble(args[2]) : 0;
+
+        System.out.println("Running load test with " + threads + " threads, " + requestCount + " requests, "
+            + (targetRate > 0 ? "open-loop at " + targetRate + " requests/s" : "closed-loop") + "...");
+        LoadTest loadTest = new LoadTest(new WorkloadGenerator.Builder().build(), threads, targetRate, requestCount, System.nanoTime());
+        loadTest.run().print();
+    }
+
+    /**
+     * Constructor
+     * @param generator The {@link WorkloadGenerator} to draw requests from.
+     * @param threads The number of threads sending requests.
+     * @param targetRate The total rate to send requests at, in requests per second, or 0 to send them as fast as
+     *                   possible.
+     * @param requestCount The total number of requests to send, split evenly between the threads.
+     * @param seed The seed for the random sources of the threads, so that runs can be repeated.
+     * @throws RuntimeException if the thread count, target rate or request count is invalid.
+     */
+    public LoadTest(WorkloadGenerator generator, int threads, double targetRate, int requestCount, long seed) throws RuntimeException{
+        if(threads < 1){
+            throw new RuntimeException("The thread count must be 1 or greater.");
+        }
+        if(targetRate < 0){
+            throw new RuntimeException("The target rate must not be negative.");
+        }
+        if(requestCount < 0){
+            throw new RuntimeException("The request count must not be negative.");
+        }
+        this.generator = generator;
+        this.threads = threads;
+        this.targetRate = targetRate;
+        this.requestCount = requestCount;
+        this.seed = seed;
+    }
+
+    /**
+     * Runs the load test and waits for every thread to finish.
+     * @return A {@link LoadTestReport} of the throughput and latencies measured.
+     * @throws InterruptedException if interrupted while waiting for the threads to finish.
+     */
+    public LoadTestReport run() throws InterruptedException{
+        //Each thread keeps to its own share of the rate, offset so that the threads do not all send at once
+        long threadInterval = targetRate > 0 ? (long) (1_000_000_000L * threads / targetRate) : 0;
+        SplittableRandom seedRandom = new SplittableRandom(seed);
+        List<Worker> workers = new ArrayList<>();
+        List<Thread> workerThreads = new ArrayList<>();
+        long startTime = System.nanoTime();
+        for(int i = 0; i < threads; i++){
+            int threadRequestCount = requestCount / threads + (i < requestCount % threads ? 1 : 0);
+            Worker worker = new Worker(seedRandom.split(), threadRequestCount, startTime + i * threadInterval / threads, threadInterval);
+            Thread thread = new Thread(worker, "load-test-" + i);
+            workers.add(worker);
+            workerThreads.add(thread);
+            thread.start();
+        }
+        for(Thread thread : workerThreads){
+            thread.join();
+        }
+        long elapsedTime = System.nanoTime() - startTime;
+
+        LatencyHistogram responseTimes = new LatencyHistogram();
+        LatencyHistogram serviceTimes = new LatencyHistogram();
+        long acceptedCount = 0;
+        long rejectedCount = 0;
+        for(Worker worker : workers){
+            responseTimes.add(worker.responseTimes);
+            serviceTimes.add(worker.serviceTimes);
+            acceptedCount += worker.acceptedCount;
+            rejectedCount += worker.rejectedCount;
+        }
+        return new LoadTestReport(acceptedCount, rejectedCount, elapsedTime, responseTimes, serviceTimes);
+    }
+
+    /**
+     * Sends one thread's share of the requests and records their latencies into histograms owned by that thread.
+     */
+    private class Worker implements Runnable {
+        private final SplittableRandom random;
+        private final int requestCount;
+        private final long firstIntendedStart;
+        private final long interval;
+        private final LatencyHistogram responseTimes = new LatencyHistogram();
+        private final LatencyHistogram serviceTimes = new LatencyHistogram();
+        private long acceptedCount;
+        private long rejectedCount;
+
+        private Worker(SplittableRandom random, int requestCount, long firstIntendedStart, long interval){
+            this.random = random;
+            this.requestCount = requestCount;
+            this.firstIntendedStart = firstIntendedStart;
+            this.interval = interval;
+        }
+
+        @Override
+        public void run(){
+            for(int i = 0; i < requestCount; i++){
+                WorkloadGenerator.CheckoutRequest request = generator.next(random);
+
+                long intendedStart = firstIntendedStart + i * interval;
+                if(interval > 0){
+                    long waitTime;
+                    while((waitTime = intendedStart - System.nanoTime()) > 0){
+                        LockSupport.parkNanos(waitTime);
+                    }
+                }
+
+                long actualStart = System.nanoTime();
+                try{
+                    new Checkout(request.getToolCode(), request.getRentalDays(), request.getDiscountPercentage(), request.getCheckoutDate());
+                    acceptedCount++;
+                }catch(RuntimeException e){
+                    rejectedCount++;
+                }
+                long end = System.nanoTime();
+
+                serviceTimes.record(end - actualStart);
+                responseTimes.record(end - (interval > 0 ? intendedStart : actualStart));
+            }
+        }
+    }
+
+    /**
+     * Data structure for the results of a load test.
+     */
+    public static class LoadTestReport {
+        private static final double[] PERCENTILES = {50, 90, 99, 99.9, 99.99};
+
+        private final long acceptedCount;
+        private final long rejectedCount;
+        private final long elapsedTime;
+        private final LatencyHistogram responseTimes;
+        private final LatencyHistogram serviceTimes;
+
+        /**
+         * Constructor.
+         * @param acceptedCount The number of checkouts that produced a rental agreement.
+         * @param rejectedCount The number of checkouts rejected for invalid input.
+         * @param elapsedTime The wall-clock duration of the test in nanoseconds.
+         * @param responseTimes The {@link LatencyHistogram} of latencies measured from each request's intended start.
+         * @param serviceTimes The {@link LatencyHistogram} of latencies measured from each request's actual start.
+         */
+        public LoadTestReport(long acceptedCount, long rejectedCount, long elapsedTime, LatencyHistogram responseTimes, LatencyHistogram serviceTimes){
+            this.acceptedCount = acceptedCount;
+            this.rejectedCount = rejectedCount;
+            this.elapsedTime = elapsedTime;
+            this.responseTimes = responseTimes;
+            this.serviceTimes = serviceTimes;
+        }
+
+        /**
+         * Prints the report and its values to the console, with latencies in microseconds.
+         */
+        public void print(){
+            System.out.println("Accepted Checkouts: " + acceptedCount);
+            System.out.println("Rejected Checkouts: " + rejectedCount);
+            System.out.println("Elapsed Time: " + String.format("%.03f", elapsedTime / 1e9) + "s");
+            System.out.println("Throughput: " + String.format("%.01f", getThroughput()) + " requests/s");
+            for(double percentile : PERCENTILES){
+                System.out.println("p" + percentile + " Response Time: " + String.format("%.02f", responseTimes.getValueAtPercentile(percentile) / 1e3) + "us"
+                    + " (Service Time: " + String.format("%.02f", serviceTimes.getValueAtPercentile(percentile) / 1e3) + "us)");
+            }
+            System.out.println("Max Response Time: " + String.format("%.02f", responseTimes.getMaxValue() / 1e3) + "us");
+        }
+
+        /**
+         * @return The number of requests completed per second, whether accepted or rejected.
+         */
+        public double getThroughput(){
+            return (acceptedCount + rejectedCount) / (elapsedTime / 1e9);
+        }
+
+        public long getAcceptedCount () {
+            return acceptedCount;
+        }
+
+        public long getRejectedCount () {
+            return rejectedCount;
+        }
+
+        public long getElapsedTime () {
+            return elapsedTime;
+        }
+
+        public LatencyHistogram getResponseTimes () {
+            return responseTimes;
+        }
+
+        public LatencyHistogram getServiceTimes () {
+            return serviceTimes;
+        }
+    }
+}
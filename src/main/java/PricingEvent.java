@@ -0,0 +1,34 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder event for the pricing of a single {@link RentalAgreement}.  Fields are only filled in when the
+ * event is going to be committed.
+ */
+@Name("cb0122.Pricing")
+@Label("Rental Agreement Pricing")
+@Category("Tool Rental")
+@Description("Calculating the charges of a rental agreement")
+@StackTrace(false)
+public class PricingEvent extends jdk.jfr.Event {
+    @Label("Tool Type")
+    String toolType;
+
+    @Label("Rental Days")
+    int rentalDays;
+
+    @Label("Charge Days")
+    long chargeDays;
+
+    @Label("Pre-Discount Charge")
+    float subTotal;
+
+    @Label("Discount Amount")
+    float discountAmount;
+
+    @Label("Final Charge")
+    float finalCharge;
+}
@@ -2,6 +2,7 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.Set;
 
 /**
  * Data structure for representing a Rental Agreement.
@@ -11,6 +12,8 @@ public class RentalAgreement {
     private final int rentalDays;
     private final LocalDate checkoutDate;
     private final LocalDate dueDate;
+    private final Set<LocalDate> additionalHolidays;
+    private final float dailyCharge;
     private final long chargeDays;
     private final float subTotal; //Pre-discount charge on the specifications sheet
     private final int discountPercent;
@@ -25,26 +28,97 @@ public class RentalAgreement {
      * @param checkoutDate The date that the tool is being checked out on.
      */
     public RentalAgreement(Tool tool, int rentalDays, int discountPercent, LocalDate checkoutDate){
+        this(tool, rentalDays, discountPercent, checkoutDate, Set.of(), tool.getToolType().getDailyCharge());
+    }
+
+    /**
+     * Constructor for an agreement priced under a changed calendar or rate, e.g. when an open agreement is re-priced.
+     * @param tool The {@link Tool} being rented
+     * @param rentalDays The number of days the Tool is being rented for.
+     * @param discountPercent The percentage as a whole number between 0 (inclusive) and 100 (inclusive) to be discounted from the charge
+     * @param checkoutDate The date that the tool is being checked out on.
+     * @param additionalHolidays Holidays on top of the 4th of July and Labor Day, see {@link ChargeDayCalculator}.
+     * @param dailyCharge The daily charge to use in place of the daily charge of the tool type.
+     */
+    public RentalAgreement(Tool tool, int rentalDays, int discountPercent, LocalDate checkoutDate, Set<LocalDate> additionalHolidays, float dailyCharge){
+        this(tool, rentalDays, discountPercent, checkoutDate, additionalHolidays, dailyCharge,
+            calculateChargeDays(tool, checkoutDate, checkoutDate.plusDays(rentalDays), additionalHolidays));
+    }
+
+    /**
+     * Constructor for an agreement whose days have already been counted, e.g. one line of a {@link CartRentalAgreement}
+     * sharing its dates with the other lines.
+     * @param tool The {@link Tool} being rented
+     * @param rentalDays The number of days the Tool is being rented for.
+     * @param discountPercent The percentage as a whole number between 0 (inclusive) and 100 (inclusive) to be discounted from the charge
+     * @param checkoutDate The date that the tool is being checked out on.
+     * @param dayCounts The {@link ChargeDayCalculator.DayCounts} between the checkout date and the due date.
+     */
+    public RentalAgreement(Tool tool, int rentalDays, int discountPercent, LocalDate checkoutDate, ChargeDayCalculator.DayCounts dayCounts){
+        this(tool, rentalDays, discountPercent, checkoutDate, Set.of(), tool.getToolType().getDailyCharge(),
+            dayCounts.getChargeDays(tool.isChargedWeekend(), tool.isChargedHoliday()));
+    }
+
+    private RentalAgreement(Tool tool, int rentalDays, int discountPercent, LocalDate checkoutDate, Set<LocalDate> additionalHolidays,
+                            float dailyCharge, long chargeDays){
+        PricingEvent event = new PricingEvent();
+        event.begin();
         this.tool = tool;
         this.rentalDays = rentalDays;
         this.checkoutDate = checkoutDate;
         this.dueDate = checkoutDate.plusDays(rentalDays);
-        this.chargeDays = this.calculateChargeDays();
-        this.subTotal = BigDecimal.valueOf(chargeDays * tool.getToolType().getDailyCharge()).setScale(2, RoundingMode.HALF_UP).floatValue();
+        this.additionalHolidays = additionalHolidays;
+        this.dailyCharge = dailyCharge;
+        this.chargeDays = chargeDays;
+        this.subTotal = BigDecimal.valueOf(chargeDays * dailyCharge).setScale(2, RoundingMode.HALF_UP).floatValue();
         this.discountPercent = discountPercent;
         this.discountAmount = BigDecimal.valueOf(subTotal * (discountPercent/100f)).setScale(2, RoundingMode.HALF_UP).floatValue();
         this.finalCharge = BigDecimal.valueOf(subTotal - discountAmount).setScale(2, RoundingMode.HALF_UP).floatValue();
+
+        if(event.shouldCommit()){
+            event.toolType = tool.getToolType().name();
+            event.rentalDays = rentalDays;
+            event.chargeDays = chargeDays;
+            event.subTotal = subTotal;
+            event.discountAmount = discountAmount;
+            event.finalCharge = finalCharge;
+            event.commit();
+        }
     }
 
     /**
      * Calculates how many days between the checkout date and the due date are chargeable
      * @return the number of chargeable days between the checkout date and the due date.
      */
-    private long calculateChargeDays(){
-        ChargeDayCalculator calculator = new ChargeDayCalculator(this.checkoutDate, tool.isChargedWeekend(), tool.isChargedHoliday());
+    private static long calculateChargeDays(Tool tool, LocalDate checkoutDate, LocalDate dueDate, Set<LocalDate> additionalHolidays){
+        ChargeDayCalculator calculator = new ChargeDayCalculator(checkoutDate, tool.isChargedWeekend(), tool.isChargedHoliday(), additionalHolidays);
         return calculator.queryFrom(dueDate);
     }
 
+    /**
+     * Calculates how many days past the due date are chargeable if the tool is returned on the given date.  The same
+     * weekend and holiday rules used for the rental period are applied to the late period.
+     * @param returnDate The date that the tool is returned on.
+     * @return the number of chargeable late days, or 0 if the tool is returned on or before the due date.
+     */
+    public long calculateLateChargeDays(LocalDate returnDate){
+        if(!returnDate.isAfter(dueDate)){
+            return 0;
+        }
+        ChargeDayCalculator calculator = new ChargeDayCalculator(this.dueDate, tool.isChargedWeekend(), tool.isChargedHoliday(), additionalHolidays);
+        return calculator.queryFrom(returnDate);
+    }
+
+    /**
+     * Calculates the late charge owed if the tool is returned on the given date.  Discounts are not applied to late charges.
+     * @param returnDate The date that the tool is returned on.
+     * @return the late charge, rounded half up to cents.
+     */
+    public float calculateLateCharge(LocalDate returnDate){
+        long lateChargeDays = calculateLateChargeDays(returnDate);
+        return BigDecimal.valueOf(lateChargeDays * dailyCharge).setScale(2, RoundingMode.HALF_UP).floatValue();
+    }
+
     /**
      * Prints the Rental Agreement and its values to the console.
      */
@@ -55,7 +129,7 @@ public class RentalAgreement {
         System.out.println("Rental Days: " + rentalDays);
         System.out.println("Checkout Date: " + checkoutDate.format(DateTimeFormatter.ofPattern("M/d/yy")));
         System.out.println("Due Date: " + dueDate.format(DateTimeFormatter.ofPattern("M/d/yy")));
-        System.out.println("Daily Rental Charge: $" + String.format("%.02f", tool.getToolType().getDailyCharge()));
+        System.out.println("Daily Rental Charge: $" + String.format("%.02f", dailyCharge));
         System.out.println("Charge Days: " + chargeDays);
         System.out.println("Pre-Discount Charge: $" + String.format("%.02f", subTotal));
         System.out.println("Discount Percent: " + discountPercent + "%");
@@ -79,6 +153,14 @@ public class RentalAgreement {
         return dueDate;
     }
 
+    public Set<LocalDate> getAdditionalHolidays () {
+        return additionalHolidays;
+    }
+
+    public float getDailyCharge () {
+        return dailyCharge;
+    }
+
     public long getChargeDays () {
         return chargeDays;
     }
@@ -0,0 +1,49 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+/**
+ * Helpers for recording the tool rental events with Java Flight Recorder using the bundled cb0122.jfc settings.
+ */
+public class RentalFlightRecording {
+    private static final String SETTINGS_RESOURCE = "/cb0122.jfc";
+
+    private RentalFlightRecording(){
+    }
+
+    /**
+     * Loads the bundled settings that turn on the {@link CheckoutEvent}, {@link ChargeDayCalculationEvent} and
+     * {@link PricingEvent} events.
+     * @return The {@link Configuration} read from the bundled settings.
+     * @throws RuntimeException if the settings cannot be found or read.
+     */
+    public static Configuration loadConfiguration() throws RuntimeException{
+        try(InputStream stream = RentalFlightRecording.class.getResourceAsStream(SETTINGS_RESOURCE)){
+            if(stream == null){
+                throw new RuntimeException("The JFR settings " + SETTINGS_RESOURCE + " could not be found on the classpath.");
+            }
+            try(Reader reader = new InputStreamReader(stream, StandardCharsets.UTF_8)){
+                return Configuration.create(reader);
+            }
+        }catch(IOException | ParseException e){
+            throw new RuntimeException("The JFR settings " + SETTINGS_RESOURCE + " could not be read.", e);
+        }
+    }
+
+    /**
+     * Starts a new recording of the tool rental events.  The caller is responsible for stopping and closing it.
+     * @return The started {@link Recording}.
+     * @throws RuntimeException if the settings cannot be found or read.
+     */
+    public static Recording start() throws RuntimeException{
+        Recording recording = new Recording(loadConfiguration());
+        recording.start();
+        return recording;
+    }
+}
@@ -0,0 +1,243 @@
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tracks open {@link RentalAgreement}s by due date and reports them once they become overdue.  Agreements are held in a
+ * hierarchical timing wheel keyed by epoch day, so scheduling and cancelling a return are constant time operations and a
+ * day tick only touches the agreements that are due on that day.
+ * <p>
+ * The wheel has three levels of 64 slots each.  Level 0 holds returns due within the next 64 days, level 1 holds
+ * returns due within the next 4096 days, and level 2 holds returns due within the next 262144 days.  Whenever the lower
+ * level wraps around, the next slot of the level above is cascaded down into it.
+ * <p>
+ * This class is not thread safe.
+ */
+public class ReturnScheduler {
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS_PER_LEVEL = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS_PER_LEVEL - 1;
+    private static final int LEVELS = 3;
+
+    private final ScheduledReturn[][] wheel = new ScheduledReturn[LEVELS][SLOTS_PER_LEVEL];
+    private long currentDay;
+    private int pendingCount;
+
+    /**
+     * Constructor
+     * @param startDate A {@link LocalDate} containing the current day of the scheduler.  Returns become overdue on the
+     *                  first tick after their due date.
+     */
+    public ReturnScheduler(LocalDate startDate){
+        this.currentDay = startDate.toEpochDay();
+        for(int level = 0; level < LEVELS; level++){
+            for(int slot = 0; slot < SLOTS_PER_LEVEL; slot++){
+                wheel[level][slot] = ScheduledReturn.sentinel();
+            }
+        }
+    }
+
+    /**
+     * Starts tracking the return of a rental.  The rental becomes overdue on the day after its due date.  If that day
+     * has already been reached, the rental is reported on the next tick.
+     * @param agreement The {@link RentalAgreement} to track.
+     * @return A {@link ScheduledReturn} handle that can be used to cancel tracking once the tool has been returned.
+     * @throws RuntimeException if the due date is too far in the future to be held by the scheduler.
+     */
+    public ScheduledReturn schedule(RentalAgreement agreement) throws RuntimeException{
+        long overdueDay = Math.max(agreement.getDueDate().toEpochDay() + 1, currentDay + 1);
+        ScheduledReturn scheduledReturn = new ScheduledReturn(agreement, overdueDay);
+        insert(scheduledReturn);
+        pendingCount++;
+        return scheduledReturn;
+    }
+
+    /**
+     * Stops tracking a scheduled return.  Cancelling a return that has already been reported or cancelled does nothing.
+     * @param scheduledReturn The {@link ScheduledReturn} handle returned by {@link #schedule(RentalAgreement)}.
+     * @return true if the return was still pending and has now been cancelled.
+     */
+    public boolean cancel(ScheduledReturn scheduledReturn){
+        if(!scheduledReturn.isPending()){
+            return false;
+        }
+        scheduledReturn.unlink();
+        pendingCount--;
+        return true;
+    }
+
+    /**
+     * Marks a rental as returned on the given date, cancelling its tracking if it is still pending.
+     * @param scheduledReturn The {@link ScheduledReturn} handle returned by {@link #schedule(RentalAgreement)}.
+     * @param returnDate The date that the tool was returned on.
+     * @return The late charge owed for the rental as of the return date.
+     */
+    public float markReturned(ScheduledReturn scheduledReturn, LocalDate returnDate){
+        cancel(scheduledReturn);
+        return scheduledReturn.getAgreement().calculateLateCharge(returnDate);
+    }
+
+    /**
+     * Advances the scheduler by one day and reports every rental that became overdue on that day.
+     * @return A {@link List} of {@link OverdueNotice}s for the rentals that became overdue.
+     */
+    public List<OverdueNotice> tick(){
+        currentDay++;
+        cascade();
+
+        List<OverdueNotice> notices = new ArrayList<>();
+        ScheduledReturn head = wheel[0][(int) (currentDay & SLOT_MASK)];
+        LocalDate today = getCurrentDate();
+        while(head.next != head){
+            ScheduledReturn scheduledReturn = head.next;
+            scheduledReturn.unlink();
+            pendingCount--;
+            notices.add(new OverdueNotice(scheduledReturn.getAgreement(), today));
+        }
+        return notices;
+    }
+
+    /**
+     * Advances the scheduler day by day until the given date is reached.
+     * @param date The date to advance to.  Dates on or before the current day are ignored.
+     * @return A {@link List} of {@link OverdueNotice}s for every rental that became overdue along the way.
+     */
+    public List<OverdueNotice> advanceTo(LocalDate date){
+        List<OverdueNotice> notices = new ArrayList<>();
+        long targetDay = date.toEpochDay();
+        while(currentDay < targetDay){
+            notices.addAll(tick());
+        }
+        return notices;
+    }
+
+    public LocalDate getCurrentDate () {
+        return LocalDate.ofEpochDay(currentDay);
+    }
+
+    public int getPendingCount () {
+        return pendingCount;
+    }
+
+    /**
+     * Moves the returns from the next slot of each higher level down the wheel whenever the level below it wraps.
+     * Higher levels are cascaded first so that their returns can settle into the slots about to be processed.
+     */
+    private void cascade(){
+        for(int level = LEVELS - 1; level > 0; level--){
+            int shift = level * SLOT_BITS;
+            if((currentDay & ((1L << shift) - 1)) == 0){
+                ScheduledReturn head = wheel[level][(int) ((currentDay >> shift) & SLOT_MASK)];
+                while(head.next != head){
+                    ScheduledReturn scheduledReturn = head.next;
+                    scheduledReturn.unlink();
+                    insert(scheduledReturn);
+                }
+            }
+        }
+    }
+
+    /**
+     * Places a return in the lowest level of the wheel whose range covers its overdue day.
+     * @param scheduledReturn The {@link ScheduledReturn} to place.
+     * @throws RuntimeException if the overdue day is beyond the range of the highest level.
+     */
+    private void insert(ScheduledReturn scheduledReturn) throws RuntimeException{
+        long overdueDay = scheduledReturn.overdueDay;
+        for(int level = 0; level < LEVELS; level++){
+            int shift = level * SLOT_BITS;
+            if((overdueDay >> shift) - (currentDay >> shift) < SLOTS_PER_LEVEL){
+                wheel[level][(int) ((overdueDay >> shift) & SLOT_MASK)].append(scheduledReturn);
+                return;
+            }
+        }
+        throw new RuntimeException("The due date of the rental is too far in the future to be tracked.");
+    }
+
+    /**
+     * A handle for a rental return being tracked by the scheduler.  Handles double as the nodes of the wheel's slot
+     * lists so that cancelling a return does not require searching for it.
+     */
+    public static class ScheduledReturn {
+        private final RentalAgreement agreement;
+        private final long overdueDay;
+        private ScheduledReturn prev;
+        private ScheduledReturn next;
+
+        private ScheduledReturn(RentalAgreement agreement, long overdueDay){
+            this.agreement = agreement;
+            this.overdueDay = overdueDay;
+        }
+
+        private static ScheduledReturn sentinel(){
+            ScheduledReturn sentinel = new ScheduledReturn(null, Long.MIN_VALUE);
+            sentinel.prev = sentinel;
+            sentinel.next = sentinel;
+            return sentinel;
+        }
+
+        private void append(ScheduledReturn scheduledReturn){
+            scheduledReturn.prev = this.prev;
+            scheduledReturn.next = this;
+            this.prev.next = scheduledReturn;
+            this.prev = scheduledReturn;
+        }
+
+        private void unlink(){
+            prev.next = next;
+            next.prev = prev;
+            prev = null;
+            next = null;
+        }
+
+        public boolean isPending(){
+            return next != null;
+        }
+
+        public RentalAgreement getAgreement () {
+            return agreement;
+        }
+
+        public LocalDate getOverdueDate () {
+            return LocalDate.ofEpochDay(overdueDay);
+        }
+    }
+
+    /**
+     * Data structure for reporting a rental that has become overdue.
+     */
+    public static class OverdueNotice {
+        private final RentalAgreement agreement;
+        private final LocalDate noticeDate;
+        private final long lateChargeDays;
+        private final float lateCharge;
+
+        /**
+         * Constructor.
+         * @param agreement The {@link RentalAgreement} that is overdue.
+         * @param noticeDate The day the rental was found to be overdue.  Late charges are calculated as of this day.
+         */
+        public OverdueNotice(RentalAgreement agreement, LocalDate noticeDate){
+            this.agreement = agreement;
+            this.noticeDate = noticeDate;
+            this.lateChargeDays = agreement.calculateLateChargeDays(noticeDate);
+            this.lateCharge = agreement.calculateLateCharge(noticeDate);
+        }
+
+        public RentalAgreement getAgreement () {
+            return agreement;
+        }
+
+        public LocalDate getNoticeDate () {
+            return noticeDate;
+        }
+
+        public long getLateChargeDays () {
+            return lateChargeDays;
+        }
+
+        public float getLateCharge () {
+            return lateCharge;
+        }
+    }
+}
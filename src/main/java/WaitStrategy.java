@@ -0,0 +1,175 @@
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Strategy for how an {@link AgreementEventConsumer} waits for new events to be published to an
+ * {@link AgreementEventFeed}.  Each consumer waits on its own thread, so a slow consumer never delays the others; the
+ * strategy only trades the latency of noticing a new event against the CPU spent waiting for it.
+ */
+public interface WaitStrategy {
+    /**
+     * Waits until the cursor of the feed reaches the given sequence or the consumer is halted.
+     * @param sequence The sequence the consumer is waiting for.
+     * @param cursor The cursor of the feed.
+     * @param consumer The {@link AgreementEventConsumer} that is waiting.
+     * @return The value of the cursor, which is less than the sequence if the consumer was halted.
+     */
+    long waitFor(long sequence, AtomicLong cursor, AgreementEventConsumer consumer);
+
+    /**
+     * Pauses briefly before the consumer checks again for a sequence that a producer has claimed but not yet published.
+     * The cursor has already moved past such a sequence, so {@link #waitFor(long, AtomicLong, AgreementEventConsumer)}
+     * returns straight away and cannot do the waiting.
+     */
+    void backOff();
+
+    /**
+     * Wakes up any consumers blocked waiting for the cursor to move.
+     */
+    void signalAllWhenBlocking();
+
+    /**
+     * Spins on the cursor.  Lowest latency, but each waiting consumer keeps a core busy.
+     */
+    class BusySpin implements WaitStrategy {
+        @Override
+        public long waitFor(long sequence, AtomicLong cursor, AgreementEventConsumer consumer){
+            long availableSequence;
+            while((availableSequence = cursor.get()) < sequence && consumer.isRunning()){
+                Thread.onSpinWait();
+            }
+            return availableSequence;
+        }
+
+        @Override
+        public void backOff(){
+            Thread.onSpinWait();
+        }
+
+        @Override
+        public void signalAllWhenBlocking(){
+        }
+    }
+
+    /**
+     * Spins on the cursor for a while, then yields the thread between checks.
+     */
+    class Yielding implements WaitStrategy {
+        private static final int SPIN_TRIES = 100;
+
+        @Override
+        public long waitFor(long sequence, AtomicLong cursor, AgreementEventConsumer consumer){
+            long availableSequence;
+            int counter = SPIN_TRIES;
+            while((availableSequence = cursor.get()) < sequence && consumer.isRunning()){
+                if(counter > 0){
+                    counter--;
+                    Thread.onSpinWait();
+                }else{
+                    Thread.yield();
+                }
+            }
+            return availableSequence;
+        }
+
+        @Override
+        public void backOff(){
+            Thread.yield();
+        }
+
+        @Override
+        public void signalAllWhenBlocking(){
+        }
+    }
+
+    /**
+     * Spins, then yields, then parks the thread for a short time between checks.  Uses little CPU while the feed is
+     * idle, at the cost of up to the park time in added latency.
+     */
+    class Sleeping implements WaitStrategy {
+        private static final int RETRIES = 200;
+        private final long sleepNanos;
+
+        /**
+         * Constructor
+         * @param sleepNanos The time in nanoseconds to park the thread for between checks once it has stopped spinning.
+         */
+        public Sleeping(long sleepNanos){
+            this.sleepNanos = sleepNanos;
+        }
+
+        @Override
+        public long waitFor(long sequence, AtomicLong cursor, AgreementEventConsumer consumer){
+            long availableSequence;
+            int counter = RETRIES;
+            while((availableSequence = cursor.get()) < sequence && consumer.isRunning()){
+                if(counter > 100){
+                    counter--;
+                    Thread.onSpinWait();
+                }else if(counter > 0){
+                    counter--;
+                    Thread.yield();
+                }else{
+                    LockSupport.parkNanos(sleepNanos);
+                }
+            }
+            return availableSequence;
+        }
+
+        @Override
+        public void backOff(){
+            LockSupport.parkNanos(sleepNanos);
+        }
+
+        @Override
+        public void signalAllWhenBlocking(){
+        }
+    }
+
+    /**
+     * Blocks the thread on a lock until a producer signals that it has published.  Uses no CPU while waiting, but adds
+     * the cost of signalling to every publish.
+     */
+    class Blocking implements WaitStrategy {
+        private static final long BACK_OFF_NANOS = 1_000;
+        private final Lock lock = new ReentrantLock();
+        private final Condition published = lock.newCondition();
+
+        @Override
+        public long waitFor(long sequence, AtomicLong cursor, AgreementEventConsumer consumer){
+            if(cursor.get() < sequence){
+                lock.lock();
+                try{
+                    while(cursor.get() < sequence && consumer.isRunning()){
+                        published.awaitUninterruptibly();
+                    }
+                }finally{
+                    lock.unlock();
+                }
+            }
+            return cursor.get();
+        }
+
+        /**
+         * Parks the thread for a microsecond.  A producer publishes its claimed sequence within a few instructions, so
+         * this is cheaper than taking the lock to wait for a signal.
+         */
+        @Override
+        public void backOff(){
+            LockSupport.parkNanos(BACK_OFF_NANOS);
+        }
+
+        @Override
+        public void signalAllWhenBlocking(){
+            lock.lock();
+            try{
+                published.signalAll();
+            }finally{
+                lock.unlock();
+            }
+        }
+    }
+}
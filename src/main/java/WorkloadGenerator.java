@@ -0,0 +1,243 @@
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAdjusters;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Produces synthetic checkout requests that resemble production traffic, for use by {@link LoadTest}.  The tool code
+ * mix, rental length, checkout dates, discounts and the share of invalid input are all configurable through
+ * {@link WorkloadGenerator.Builder}.
+ * <p>
+ * A generator is immutable and may be shared between threads, as long as each thread passes its own random source to
+ * {@link #next(SplittableRandom)}.
+ */
+public class WorkloadGenerator {
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("M/d/yy", Locale.ENGLISH);
+
+    private final String[] toolCodes;
+    private final int[] toolCodeWeights;
+    private final int toolCodeWeightTotal;
+    private final double meanRentalDays;
+    private final int maxRentalDays;
+    private final int firstYear;
+    private final int lastYear;
+    private final double holidayClusterRatio;
+    private final int holidayClusterDays;
+    private final int[] discounts;
+    private final int[] discountWeights;
+    private final int discountWeightTotal;
+    private final double invalidInputRatio;
+
+    /**
+     * Constructor for {@link WorkloadGenerator} class.
+     * @param builder The {@link WorkloadGenerator.Builder} object created to build the generator from.
+     */
+    private WorkloadGenerator(Builder builder){
+        this.toolCodes = builder.toolCodeMix.keySet().toArray(new String[0]);
+        this.toolCodeWeights = builder.toolCodeMix.values().stream().mapToInt(Integer::intValue).toArray();
+        this.toolCodeWeightTotal = builder.toolCodeMix.values().stream().mapToInt(Integer::intValue).sum();
+        this.meanRentalDays = builder.meanRentalDays;
+        this.maxRentalDays = builder.maxRentalDays;
+        this.firstYear = builder.firstYear;
+        this.lastYear = builder.lastYear;
+        this.holidayClusterRatio = builder.holidayClusterRatio;
+        this.holidayClusterDays = builder.holidayClusterDays;
+        this.discounts = builder.discountMix.keySet().stream().mapToInt(Integer::intValue).toArray();
+        this.discountWeights = builder.discountMix.values().stream().mapToInt(Integer::intValue).toArray();
+        this.discountWeightTotal = builder.discountMix.values().stream().mapToInt(Integer::intValue).sum();
+        this.invalidInputRatio = builder.invalidInputRatio;
+    }
+
+    /**
+     * Generates the next checkout request.
+     * @param random The random source of the calling thread.
+     * @return A {@link CheckoutRequest} with its values as the Strings a user would enter.
+     */
+    public CheckoutRequest next(SplittableRandom random){
+        String toolCode = toolCodes[pickWeighted(random, toolCodeWeights, toolCodeWeightTotal)];
+        String rentalDays = Integer.toString(nextRentalDays(random));
+        String discountPercentage = Integer.toString(discounts[pickWeighted(random, discountWeights, discountWeightTotal)]);
+        String checkoutDate = nextCheckoutDate(random).format(DATE_FORMAT);
+
+        if(random.nextDouble() < invalidInputRatio){
+            //Break exactly one of the values, the same way a user mistyping it would
+            switch(random.nextInt(3)){
+                case 0:
+                    toolCode = "XXXX";
+                    break;
+                case 1:
+                    rentalDays = "0";
+                    break;
+                default:
+                    discountPercentage = "101";
+            }
+        }
+        return new CheckoutRequest(toolCode, rentalDays, discountPercentage, checkoutDate);
+    }
+
+    /**
+     * Draws a rental length from a geometric distribution with the configured mean, capped at the configured maximum.
+     */
+    private int nextRentalDays(SplittableRandom random){
+        double successProbability = 1 / meanRentalDays;
+        int rentalDays = 1 + (int) (Math.log(1 - random.nextDouble()) / Math.log(1 - successProbability));
+        return Math.min(rentalDays, maxRentalDays);
+    }
+
+    /**
+     * Draws a checkout date, clustered around the 4th of July or Labor Day for the configured share of requests and
+     * uniformly spread over the year otherwise.
+     */
+    private LocalDate nextCheckoutDate(SplittableRandom random){
+        int year = random.nextInt(firstYear, lastYear + 1);
+        if(random.nextDouble() < holidayClusterRatio){
+            LocalDate holiday = random.nextBoolean()
+                ? LocalDate.of(year, Month.JULY, 4)
+                : LocalDate.of(year, Month.SEPTEMBER, 1).with(TemporalAdjusters.firstInMonth(DayOfWeek.MONDAY));
+            return holiday.plusDays(random.nextInt(-holidayClusterDays, holidayClusterDays + 1));
+        }
+        LocalDate firstDay = LocalDate.of(year, Month.JANUARY, 1);
+        return firstDay.plusDays(random.nextInt(firstDay.lengthOfYear()));
+    }
+
+    private static int pickWeighted(SplittableRandom random, int[] weights, int weightTotal){
+        int remaining = random.nextInt(weightTotal);
+        for(int i = 0; i < weights.length; i++){
+            remaining -= weights[i];
+            if(remaining < 0){
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    /**
+     * Data structure for a single generated checkout, holding the same Strings accepted by {@link Checkout}.
+     */
+    public static class CheckoutRequest {
+        private final String toolCode;
+        private final String rentalDays;
+        private final String discountPercentage;
+        private final String checkoutDate;
+
+        public CheckoutRequest(String toolCode, String rentalDays, String discountPercentage, String checkoutDate){
+            this.toolCode = toolCode;
+            this.rentalDays = rentalDays;
+            this.discountPercentage = discountPercentage;
+            this.checkoutDate = checkoutDate;
+        }
+
+        public String getToolCode () {
+            return toolCode;
+        }
+
+        public String getRentalDays () {
+            return rentalDays;
+        }
+
+        public String getDiscountPercentage () {
+            return discountPercentage;
+        }
+
+        public String getCheckoutDate () {
+            return checkoutDate;
+        }
+    }
+
+    /**
+     * Builder inner class to be used for creating {@link WorkloadGenerator} objects.  Defaults to an even mix of the
+     * inventory, week-long rentals, a quarter of checkouts around the holidays, mostly undiscounted rentals and 1%
+     * invalid input.
+     */
+    public static class Builder {
+        private final Map<String, Integer> toolCodeMix = new LinkedHashMap<>();
+        private final Map<Integer, Integer> discountMix = new LinkedHashMap<>();
+        private double meanRentalDays = 7;
+        private int maxRentalDays = 60;
+        private int firstYear = 2015;
+        private int lastYear = 2025;
+        private double holidayClusterRatio = 0.25;
+        private int holidayClusterDays = 7;
+        private double invalidInputRatio = 0.01;
+
+        public Builder setToolCodeWeight(String toolCode, int weight) {
+            this.toolCodeMix.put(toolCode, weight);
+            return this;
+        }
+
+        public Builder setDiscountWeight(int discountPercentage, int weight) {
+            this.discountMix.put(discountPercentage, weight);
+            return this;
+        }
+
+        public Builder setMeanRentalDays(double meanRentalDays) {
+            this.meanRentalDays = meanRentalDays;
+            return this;
+        }
+
+        public Builder setMaxRentalDays(int maxRentalDays) {
+            this.maxRentalDays = maxRentalDays;
+            return this;
+        }
+
+        public Builder setYearRange(int firstYear, int lastYear) {
+            this.firstYear = firstYear;
+            this.lastYear = lastYear;
+            return this;
+        }
+
+        public Builder setHolidayClusterRatio(double holidayClusterRatio) {
+            this.holidayClusterRatio = holidayClusterRatio;
+            return this;
+        }
+
+        public Builder setHolidayClusterDays(int holidayClusterDays) {
+            this.holidayClusterDays = holidayClusterDays;
+            return this;
+        }
+
+        public Builder setInvalidInputRatio(double invalidInputRatio) {
+            this.invalidInputRatio = invalidInputRatio;
+            return this;
+        }
+
+        /**
+         * Builds the generator, filling in the default tool code and discount mixes if none were set.
+         * @return The built {@link WorkloadGenerator}.
+         * @throws RuntimeException if the configured values cannot produce a valid workload.
+         */
+        public WorkloadGenerator build() throws RuntimeException{
+            if(toolCodeMix.isEmpty()){
+                toolCodeMix.put("CHNS", 1);
+                toolCodeMix.put("LADW", 1);
+                toolCodeMix.put("JAKD", 1);
+                toolCodeMix.put("JAKR", 1);
+            }
+            if(discountMix.isEmpty()){
+                discountMix.put(0, 70);
+                discountMix.put(10, 15);
+                discountMix.put(20, 10);
+                discountMix.put(50, 5);
+            }
+            if(!isValidMix(toolCodeMix) || !isValidMix(discountMix)){
+                throw new RuntimeException("Workload weights must not be negative and at least one weight in each mix must be positive.");
+            }
+            if(meanRentalDays < 1 || maxRentalDays < 1){
+                throw new RuntimeException("The mean and maximum rental days must be 1 or greater.");
+            }
+            if(firstYear > lastYear){
+                throw new RuntimeException("The first year of the workload must not be after the last year.");
+            }
+            return new WorkloadGenerator(this);
+        }
+
+        private static boolean isValidMix(Map<?, Integer> mix){
+            return mix.values().stream().allMatch(weight -> weight >= 0) && mix.values().stream().mapToInt(Integer::intValue).sum() > 0;
+        }
+    }
+}
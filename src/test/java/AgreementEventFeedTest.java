@@ -0,0 +1,145 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit test suite for testing the {@link AgreementEventFeed} class and its consumers.
+ */
+public class AgreementEventFeedTest {
+    private final RentalAgreement agreement = new Checkout("LADW", "3", "10", "7/2/20").getRentalAgreement();
+
+    @Test
+    @DisplayName("Every consumer receives every event in order for each wait strategy.")
+    void singleProducerAllStrategiesTest() throws InterruptedException{
+        List<WaitStrategy> strategies = List.of(new WaitStrategy.BusySpin(), new WaitStrategy.Yielding(), new WaitStrategy.Sleeping(1000), new WaitStrategy.Blocking());
+        for(WaitStrategy strategy : strategies){
+            AgreementEventFeed feed = new AgreementEventFeed(8, AgreementEventFeed.ProducerType.SINGLE, strategy);
+            CountingHandler first = new CountingHandler();
+            CountingHandler second = new CountingHandler();
+            runConsumers(feed, List.of(first, second), () -> {
+                for(int i = 0; i < 1000; i++){
+                    feed.publish(agreement);
+                }
+            }, 1000);
+            assertEquals(1000, first.count.get());
+            assertEquals(1000, second.count.get());
+            assertTrue(first.inOrder && second.inOrder);
+        }
+    }
+
+    @Test
+    @DisplayName("Events from several producers are all delivered exactly once.")
+    void multiProducerTest() throws InterruptedException{
+        AgreementEventFeed feed = new AgreementEventFeed(16, AgreementEventFeed.ProducerType.MULTI, new WaitStrategy.Yielding());
+        CountingHandler handler = new CountingHandler();
+        runConsumers(feed, List.of(handler), () -> {
+            List<Thread> producers = new ArrayList<>();
+            for(int i = 0; i < 4; i++){
+                Thread producer = new Thread(() -> {
+                    for(int j = 0; j < 2500; j++){
+                        feed.publish(agreement);
+                    }
+                });
+                producers.add(producer);
+                producer.start();
+            }
+            for(Thread producer : producers){
+                try{
+                    producer.join();
+                }catch(InterruptedException e){
+                    throw new RuntimeException(e);
+                }
+            }
+        }, 10000);
+        assertEquals(10000, handler.count.get());
+        assertTrue(handler.inOrder);
+    }
+
+    @Test
+    @DisplayName("Checkout publishes its rental agreement to the feed.")
+    void checkoutPublishesTest() throws InterruptedException{
+        AgreementEventFeed feed = new AgreementEventFeed(4, AgreementEventFeed.ProducerType.SINGLE, new WaitStrategy.Blocking());
+        List<RentalAgreement> received = new ArrayList<>();
+        AgreementEventHandler handler = (event, sequence, endOfBatch) -> received.add(event.getAgreement());
+        Checkout[] checkout = new Checkout[1];
+        runConsumers(feed, List.of(handler), () -> checkout[0] = new Checkout("JAKR", "4", "50", "7/2/20", feed), 1);
+        assertEquals(1, received.size());
+        assertSame(checkout[0].getRentalAgreement(), received.get(0));
+    }
+
+    @Test
+    @DisplayName("Cart checkout publishes the consolidated agreement with the cart discount applied.")
+    void cartCheckoutPublishesTest() throws InterruptedException{
+        AgreementEventFeed feed = new AgreementEventFeed(4, AgreementEventFeed.ProducerType.SINGLE, new WaitStrategy.Blocking());
+        List<CartRentalAgreement> received = new ArrayList<>();
+        AgreementEventHandler handler = (event, sequence, endOfBatch) -> {
+            if(event.isCart()){
+                received.add(event.getCartAgreement());
+            }
+        };
+        CartCheckout[] checkout = new CartCheckout[1];
+        runConsumers(feed, List.of(handler), () -> checkout[0] = new CartCheckout(List.of("LADW", "JAKR"), "4", "50", "7/2/20", feed), 1);
+        assertEquals(1, received.size());
+        CartRentalAgreement cartAgreement = checkout[0].getRentalAgreement();
+        assertSame(cartAgreement, received.get(0));
+        assertEquals(cartAgreement.getFinalCharge(), received.get(0).getFinalCharge());
+        assertEquals(4.48f, received.get(0).getFinalCharge());
+    }
+
+    @Test
+    @DisplayName("Should throw Runtime Exception when the buffer size is not a power of 2.")
+    void invalidBufferSizeTest(){
+        assertThrows(RuntimeException.class, () -> new AgreementEventFeed(10, AgreementEventFeed.ProducerType.SINGLE, new WaitStrategy.BusySpin()));
+    }
+
+    /**
+     * Starts a consumer thread for each handler, runs the producer, waits for the consumers to read the expected number
+     * of events and then halts them.
+     */
+    private void runConsumers(AgreementEventFeed feed, List<AgreementEventHandler> handlers, Runnable producer, long expectedEvents) throws InterruptedException{
+        List<AgreementEventConsumer> consumers = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for(AgreementEventHandler handler : handlers){
+            AgreementEventConsumer consumer = feed.addConsumer(handler);
+            Thread thread = new Thread(consumer);
+            consumers.add(consumer);
+            threads.add(thread);
+            thread.start();
+        }
+        producer.run();
+        long deadline = System.currentTimeMillis() + 10_000;
+        for(AgreementEventConsumer consumer : consumers){
+            while(consumer.getSequence().get() < expectedEvents - 1 && System.currentTimeMillis() < deadline){
+                Thread.sleep(1);
+            }
+            consumer.halt();
+        }
+        for(Thread thread : threads){
+            thread.join(10_000);
+        }
+    }
+
+    /**
+     * Handler that counts the events it receives and checks that their sequences arrive in order.
+     */
+    private static class CountingHandler implements AgreementEventHandler {
+        private final AtomicInteger count = new AtomicInteger();
+        private long lastSequence = -1;
+        private boolean inOrder = true;
+
+        @Override
+        public void onEvent(AgreementEvent event, long sequence, boolean endOfBatch){
+            inOrder &= sequence == lastSequence + 1 && event.getAgreement() != null;
+            lastSequence = sequence;
+            count.incrementAndGet();
+        }
+    }
+}
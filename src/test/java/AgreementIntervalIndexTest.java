@@ -0,0 +1,141 @@
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit test suite for testing the {@link AgreementIntervalIndex} class.
+ */
+public class AgreementIntervalIndexTest {
+    private final LocalDate indpDay = LocalDate.of(2015, Month.JULY, 4);
+    AgreementIntervalIndex index;
+    RentalAgreement spanningIndpDay;
+    RentalAgreement afterIndpDay;
+    RentalAgreement longRental;
+
+    @BeforeEach
+    void setUp(){
+        index = new AgreementIntervalIndex();
+        spanningIndpDay = new RentalAgreement(TestConstants.stihlChainsaw, 5, 0, indpDay.minusDays(2));
+        afterIndpDay = new RentalAgreement(TestConstants.wernerLadder, 3, 0, indpDay.plusDays(10));
+        longRental = new RentalAgreement(TestConstants.ridgidJackhammer, 90, 10, indpDay.minusDays(30));
+        index.add(spanningIndpDay);
+        index.add(afterIndpDay);
+        index.add(longRental);
+    }
+
+    @Test
+    @DisplayName("Finds only the agreements whose range contains the date.")
+    void findContainingTest(){
+        List<RentalAgreement> result = index.findContaining(indpDay);
+        assertEquals(2, result.size());
+        assertTrue(result.contains(spanningIndpDay));
+        assertTrue(result.contains(longRental));
+    }
+
+    @Test
+    @DisplayName("Returns each agreement once when the window spans several buckets.")
+    void findOverlappingNoDuplicatesTest(){
+        List<RentalAgreement> result = index.findOverlapping(indpDay.minusDays(60), indpDay.plusDays(60));
+        assertEquals(3, result.size());
+        assertTrue(index.findOverlapping(indpDay.plusDays(100), indpDay.plusDays(200)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Removed agreements are no longer returned.")
+    void removeTest(){
+        assertTrue(index.remove(longRental));
+        assertFalse(index.remove(longRental));
+        assertEquals(2, index.size());
+        assertEquals(List.of(spanningIndpDay), index.findContaining(indpDay));
+    }
+
+    @Test
+    @DisplayName("Re-pricing leaves agreements whose price is unchanged in the index as they were.")
+    void repriceUnchangedKeepsIdentityTest(){
+        List<AgreementIntervalIndex.RepricingDelta> deltas = index.reprice(Tool.ToolType.JACKHAMMER, 2.99f, indpDay, indpDay);
+        assertTrue(deltas.isEmpty());
+        assertEquals(3, index.size());
+        //The 4th of July 2015 is a Saturday, which is already not charged as a holiday on that day
+        assertTrue(index.addHoliday(indpDay).isEmpty());
+
+        List<RentalAgreement> result = index.findContaining(indpDay);
+        assertTrue(result.stream().anyMatch(agreement -> agreement == longRental));
+        assertTrue(index.remove(longRental));
+        assertEquals(List.of(spanningIndpDay), index.findContaining(indpDay));
+    }
+
+    @Test
+    @DisplayName("Adding an agreement twice does not count it twice.")
+    void addDuplicateTest(){
+        assertFalse(index.add(longRental));
+        assertEquals(3, index.size());
+        assertTrue(index.remove(longRental));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    @DisplayName("Only finds agreements charged for the date, which excludes the checkout date.")
+    void findChargedOnTest(){
+        LocalDate checkoutDate = afterIndpDay.getCheckoutDate();
+        assertTrue(index.findContaining(checkoutDate).contains(afterIndpDay));
+        assertEquals(List.of(longRental), index.findChargedOn(checkoutDate));
+        assertEquals(List.of(afterIndpDay, longRental), index.findChargedOn(afterIndpDay.getDueDate()));
+    }
+
+    @Test
+    @DisplayName("Adding a holiday removes a charge day from the agreements charged for it, and removing it restores them.")
+    void addHolidayTest(){
+        //Thursday 7/16/15 is charged for the ladder and the jackhammer, neither of which are charged on holidays
+        LocalDate holiday = LocalDate.of(2015, Month.JULY, 16);
+        List<AgreementIntervalIndex.RepricingDelta> deltas = index.addHoliday(holiday);
+        assertEquals(2, deltas.size());
+        AgreementIntervalIndex.RepricingDelta ladderDelta = deltas.get(0);
+        assertTrue(ladderDelta.getPrevious() == afterIndpDay);
+        assertEquals(-1, ladderDelta.getChargeDaysDelta());
+        assertEquals(-1.99f, ladderDelta.getFinalChargeDelta());
+        assertEquals(2, ladderDelta.getRepriced().getChargeDays());
+        assertEquals(-1, deltas.get(1).getChargeDaysDelta());
+        assertEquals(-2.69f, deltas.get(1).getFinalChargeDelta());
+
+        //The previous agreements were swapped for the re-priced ones
+        assertEquals(3, index.size());
+        assertFalse(index.remove(afterIndpDay));
+        assertEquals(List.of(ladderDelta.getRepriced(), deltas.get(1).getRepriced()), index.findChargedOn(holiday));
+
+        List<AgreementIntervalIndex.RepricingDelta> restored = index.removeHoliday(holiday);
+        assertEquals(2, restored.size());
+        assertEquals(1, restored.get(0).getChargeDaysDelta());
+        assertEquals(afterIndpDay.getFinalCharge(), restored.get(0).getRepriced().getFinalCharge());
+        assertEquals(longRental.getFinalCharge(), restored.get(1).getRepriced().getFinalCharge());
+    }
+
+    @Test
+    @DisplayName("A rate change re-prices only the agreements for that tool type within the window.")
+    void repriceRateTest(){
+        List<AgreementIntervalIndex.RepricingDelta> deltas = index.reprice(Tool.ToolType.LADDER, 2.49f, indpDay, indpDay.plusDays(12));
+        assertEquals(1, deltas.size());
+        assertTrue(deltas.get(0).getPrevious() == afterIndpDay);
+        assertEquals(0, deltas.get(0).getChargeDaysDelta());
+        assertEquals(1.50f, deltas.get(0).getFinalChargeDelta());
+        assertEquals(2.49f, deltas.get(0).getRepriced().getDailyCharge());
+        assertTrue(index.reprice(Tool.ToolType.LADDER, 2.49f, indpDay.plusDays(20), indpDay.plusDays(30)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Reports the difference between the previous and repriced agreements.")
+    void repricingDeltaTest(){
+        RentalAgreement repriced = new RentalAgreement(TestConstants.stihlChainsaw, 5, 50, indpDay.minusDays(2));
+        AgreementIntervalIndex.RepricingDelta delta = new AgreementIntervalIndex.RepricingDelta(spanningIndpDay, repriced);
+        assertTrue(delta.hasChanged());
+        assertEquals(0, delta.getChargeDaysDelta());
+        assertEquals(-2.23f, delta.getFinalChargeDelta());
+    }
+}
@@ -0,0 +1,54 @@
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit test suite for testing the {@link CartCheckout} and {@link CartRentalAgreement} classes.
+ */
+public class CartCheckoutTest {
+    private final List<String> allToolCodes = List.of("CHNS", "LADW", "JAKD", "JAKR");
+
+    @Test
+    @DisplayName("Each line item is priced the same as a single tool checkout for the same dates.")
+    void lineItemsMatchSingleCheckoutTest(){
+        CartRentalAgreement cartAgreement = new CartCheckout(allToolCodes, "9", "0", "7/2/15").getRentalAgreement();
+        assertEquals(4, cartAgreement.getLineItems().size());
+        for(RentalAgreement lineItem : cartAgreement.getLineItems()){
+            RentalAgreement singleAgreement = new Checkout(lineItem.getTool().getToolCode(), "9", "0", "7/2/15").getRentalAgreement();
+            assertEquals(singleAgreement.getChargeDays(), lineItem.getChargeDays());
+            assertEquals(singleAgreement.getFinalCharge(), lineItem.getFinalCharge());
+        }
+        assertEquals(9, cartAgreement.getDayCounts().getTotalDays());
+        assertEquals(3, cartAgreement.getDayCounts().getWeekendDays());
+        assertEquals(1, cartAgreement.getDayCounts().getHolidays());
+        assertEquals(5, cartAgreement.getDayCounts().getWeekdays());
+    }
+
+    @Test
+    @DisplayName("The cart discount is applied to the combined charge of all line items.")
+    void cartDiscountTest(){
+        CartRentalAgreement cartAgreement = new CartCheckout(List.of("LADW", "JAKR"), "4", "50", "7/2/20").getRentalAgreement();
+        //Ladder is charged 3 days at $1.99 and jackhammer 1 day at $2.99
+        assertEquals(8.96f, cartAgreement.getSubTotal());
+        assertEquals(50, cartAgreement.getDiscountPercent());
+        assertEquals(4.48f, cartAgreement.getDiscountAmount());
+        assertEquals(4.48f, cartAgreement.getFinalCharge());
+    }
+
+    @Test
+    @DisplayName("Should throw Runtime Exception when the cart is empty.")
+    void emptyCartTest(){
+        RuntimeException e = assertThrows(RuntimeException.class, () -> new CartCheckout(List.of(), "4", "0", "7/2/20"));
+        assertEquals("No Tool Codes were entered for the cart.  Please try again with at least one registered Tool Code.", e.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should throw Runtime Exception when any tool code in the cart is unknown.")
+    void unknownToolCodeTest(){
+        assertThrows(RuntimeException.class, () -> new CartCheckout(List.of("LADW", "ABCD"), "4", "0", "7/2/20"));
+    }
+}
@@ -2,6 +2,7 @@ import java.time.LocalDate;
 import java.time.Month;
 import java.time.format.DateTimeFormatter;
 import java.util.Locale;
+import java.util.Set;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -63,4 +64,40 @@ public class ChargeDayCalculatorTest {
         long resultChargeDays = calculator.queryFrom(indpDayWeekday.plusDays(5));
         assertEquals(6, resultChargeDays);
     }
+
+    @Test
+    @DisplayName("Counts charge days correctly for a short range that does not reach a weekend.")
+    void countChargeDaysShortRangeNoWeekendTest(){
+        calculator = new ChargeDayCalculator(laborDay.plusDays(1), false, false);
+        long resultChargeDays = calculator.queryFrom(laborDay.plusDays(3));
+        assertEquals(2, resultChargeDays);
+    }
+
+    @Test
+    @DisplayName("Counts additional holidays within the charge window once, and only on weekdays.")
+    void countChargeDaysWithAdditionalHolidaysTest(){
+        LocalDate checkoutDate = indpDayWeekday.minusDays(2);
+        Set<LocalDate> additionalHolidays = Set.of(checkoutDate, indpDayWeekday, indpDayWeekday.plusDays(1), indpDayWeekday.plusDays(4));
+        calculator = new ChargeDayCalculator(checkoutDate, true, false, additionalHolidays);
+        assertEquals(5, calculator.queryFrom(indpDayWeekday.plusDays(5)));
+        assertEquals(5, calculator.countDays(indpDayWeekday.plusDays(5)).getChargeDays(true, false));
+    }
+
+    @Test
+    @DisplayName("Shared day counts produce the same charge days as querying with each set of charging rules.")
+    void countDaysMatchesQueryTest(){
+        for(int offset = -10; offset <= 10; offset++){
+            LocalDate checkoutDate = indpDayWeekend.plusDays(offset);
+            for(int rentalDays = 1; rentalDays <= 14; rentalDays++){
+                LocalDate dueDate = checkoutDate.plusDays(rentalDays);
+                ChargeDayCalculator.DayCounts dayCounts = new ChargeDayCalculator(checkoutDate, false, false).countDays(dueDate);
+                for(int flags = 0; flags < 4; flags++){
+                    boolean chargeWeekends = (flags & 1) != 0;
+                    boolean chargeHolidays = (flags & 2) != 0;
+                    calculator = new ChargeDayCalculator(checkoutDate, chargeWeekends, chargeHolidays);
+                    assertEquals(calculator.queryFrom(dueDate), dayCounts.getChargeDays(chargeWeekends, chargeHolidays));
+                }
+            }
+        }
+    }
 }
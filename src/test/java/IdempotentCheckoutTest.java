@@ -0,0 +1,147 @@
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit test suite for testing the {@link IdempotentCheckout} and {@link BloomFilter} classes.
+ */
+public class IdempotentCheckoutTest {
+    MutableClock clock;
+    IdempotentCheckout checkout;
+
+    @BeforeEach
+    void setUp(){
+        clock = new MutableClock();
+        checkout = new IdempotentCheckout.Builder().setRetentionWindow(Duration.ofMinutes(10)).setBucketCount(10).setMaxRequestsPerBucket(1000).setClock(clock).build();
+    }
+
+    @Test
+    @DisplayName("A retried request ID gets the original agreement back.")
+    void replayReturnsOriginalTest(){
+        RentalAgreement original = checkout.checkout("pos-1", "LADW", "3", "10", "7/2/20");
+        clock.advance(Duration.ofMinutes(5));
+        assertSame(original, checkout.checkout("pos-1", "LADW", "3", "10", "7/2/20"));
+        assertNotSame(original, checkout.checkout("pos-2", "LADW", "3", "10", "7/2/20"));
+    }
+
+    @Test
+    @DisplayName("A request ID is forgotten once it falls out of the retention window.")
+    void expiredRequestIdTest(){
+        RentalAgreement original = checkout.checkout("pos-1", "LADW", "3", "10", "7/2/20");
+        clock.advance(Duration.ofMinutes(11));
+        assertNotSame(original, checkout.checkout("pos-1", "LADW", "3", "10", "7/2/20"));
+    }
+
+    @Test
+    @DisplayName("A request that failed validation is validated again on retry.")
+    void failedRequestNotRememberedTest(){
+        RuntimeException e = assertThrows(RuntimeException.class, () -> checkout.checkout("pos-1", "JAKR", "5", "101", "9/3/15"));
+        assertEquals(TestConstants.discountAmountOutOfRangeMessage, e.getMessage());
+        RentalAgreement retried = checkout.checkout("pos-1", "JAKR", "5", "10", "9/3/15");
+        assertEquals(10, retried.getDiscountPercent());
+        assertSame(retried, checkout.checkout("pos-1", "JAKR", "5", "10", "9/3/15"));
+    }
+
+    @Test
+    @DisplayName("New requests are rejected once a bucket is full, while remembered requests can still be replayed.")
+    void fullBucketRejectsNewRequestsTest(){
+        checkout = new IdempotentCheckout.Builder().setRetentionWindow(Duration.ofMinutes(10)).setBucketCount(10).setMaxRequestsPerBucket(1).setClock(clock).build();
+        RentalAgreement original = checkout.checkout("a", "LADW", "3", "10", "7/2/20");
+        RuntimeException e = assertThrows(RuntimeException.class, () -> checkout.checkout("b", "LADW", "3", "10", "7/2/20"));
+        assertEquals("Too many checkout requests were received in a short time.  Please retry the checkout shortly.", e.getMessage());
+        assertThrows(RuntimeException.class, () -> checkout.checkout("b", "LADW", "3", "10", "7/2/20"));
+        assertSame(original, checkout.checkout("a", "LADW", "3", "10", "7/2/20"));
+
+        clock.advance(Duration.ofMinutes(1));
+        RentalAgreement retried = checkout.checkout("b", "LADW", "3", "10", "7/2/20");
+        assertSame(retried, checkout.checkout("b", "LADW", "3", "10", "7/2/20"));
+        assertSame(original, checkout.checkout("a", "LADW", "3", "10", "7/2/20"));
+    }
+
+    @Test
+    @DisplayName("Concurrent retries of the same request ID produce a single agreement.")
+    void concurrentRetriesTest() throws Exception{
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try{
+            for(int round = 0; round < 50; round++){
+                String requestId = "pos-" + round;
+                List<Callable<RentalAgreement>> retries = new ArrayList<>();
+                for(int i = 0; i < 8; i++){
+                    retries.add(() -> checkout.checkout(requestId, "CHNS", "5", "25", "7/2/15"));
+                }
+                List<Future<RentalAgreement>> results = executor.invokeAll(retries);
+                RentalAgreement first = results.get(0).get();
+                for(Future<RentalAgreement> result : results){
+                    assertSame(first, result.get());
+                }
+            }
+        }finally{
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("The Bloom filter never misses an added value and rarely reports one that was not added.")
+    void bloomFilterTest(){
+        BloomFilter filter = new BloomFilter(10000, 0.01);
+        for(int i = 0; i < 10000; i++){
+            filter.add("added-" + i);
+        }
+        int falsePositives = 0;
+        for(int i = 0; i < 10000; i++){
+            assertTrue(filter.mightContain("added-" + i));
+            if(filter.mightContain("other-" + i)){
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 200, "False positives: " + falsePositives);
+
+        filter.clear();
+        assertFalse(filter.mightContain("added-0"));
+    }
+
+    /**
+     * A {@link Clock} that only moves when told to.
+     */
+    private static class MutableClock extends Clock {
+        private Instant instant = Instant.parse("2022-01-22T12:00:00Z");
+
+        void advance(Duration duration){
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone(){
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone){
+            return this;
+        }
+
+        @Override
+        public Instant instant(){
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit test suite for testing the {@link LatencyHistogram} class.
+ */
+public class LatencyHistogramTest {
+    LatencyHistogram histogram;
+
+    @BeforeEach
+    void setUp(){
+        histogram = new LatencyHistogram();
+    }
+
+    @Test
+    @DisplayName("Reports small values exactly.")
+    void smallValuesExactTest(){
+        for(int value = 1; value <= 100; value++){
+            histogram.record(value);
+        }
+        assertEquals(100, histogram.getTotalCount());
+        assertEquals(50, histogram.getValueAtPercentile(50));
+        assertEquals(99, histogram.getValueAtPercentile(99));
+        assertEquals(100, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    @DisplayName("Reports large values within the precision of their bucket.")
+    void largeValuesWithinPrecisionTest(){
+        for(long value = 1_000; value <= 1_000_000; value += 1_000){
+            histogram.record(value);
+        }
+        long median = histogram.getValueAtPercentile(50);
+        assertTrue(Math.abs(median - 500_000) <= 500_000 / 64, "Median was " + median);
+        assertEquals(1_000_000, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    @DisplayName("Merging histograms combines their counts and maximums.")
+    void addTest(){
+        LatencyHistogram other = new LatencyHistogram();
+        histogram.record(10);
+        other.record(5_000);
+        other.record(20);
+        histogram.add(other);
+        assertEquals(3, histogram.getTotalCount());
+        assertEquals(5_000, histogram.getMaxValue());
+        assertEquals(20, histogram.getValueAtPercentile(50));
+    }
+}
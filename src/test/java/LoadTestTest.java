@@ -0,0 +1,68 @@
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit test suite for testing the {@link WorkloadGenerator} and {@link LoadTest} classes.
+ */
+public class LoadTestTest {
+    private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("M/d/yy", Locale.ENGLISH);
+
+    @Test
+    @DisplayName("Generates only valid checkouts clustered around the holidays when configured to.")
+    void generatesValidHolidayCheckoutsTest(){
+        WorkloadGenerator generator = new WorkloadGenerator.Builder().setInvalidInputRatio(0).setHolidayClusterRatio(1).setHolidayClusterDays(3).build();
+        SplittableRandom random = new SplittableRandom(122);
+        for(int i = 0; i < 1000; i++){
+            WorkloadGenerator.CheckoutRequest request = generator.next(random);
+            assertDoesNotThrow(() -> new Checkout(request.getToolCode(), request.getRentalDays(), request.getDiscountPercentage(), request.getCheckoutDate()));
+            LocalDate checkoutDate = LocalDate.parse(request.getCheckoutDate(), formatter);
+            long daysFromIndpDay = Math.abs(ChronoUnit.DAYS.between(LocalDate.of(checkoutDate.getYear(), Month.JULY, 4), checkoutDate));
+            assertTrue(daysFromIndpDay <= 3 || checkoutDate.getMonth() == Month.AUGUST || checkoutDate.getMonth() == Month.SEPTEMBER);
+        }
+    }
+
+    @Test
+    @DisplayName("Generates only invalid checkouts when the invalid input ratio is 1.")
+    void generatesInvalidCheckoutsTest(){
+        WorkloadGenerator generator = new WorkloadGenerator.Builder().setInvalidInputRatio(1).build();
+        SplittableRandom random = new SplittableRandom(122);
+        for(int i = 0; i < 100; i++){
+            WorkloadGenerator.CheckoutRequest request = generator.next(random);
+            assertThrows(RuntimeException.class,
+                () -> new Checkout(request.getToolCode(), request.getRentalDays(), request.getDiscountPercentage(), request.getCheckoutDate()));
+        }
+    }
+
+    @Test
+    @DisplayName("Closed-loop run completes every request across all threads.")
+    void closedLoopRunTest() throws InterruptedException{
+        LoadTest loadTest = new LoadTest(new WorkloadGenerator.Builder().setInvalidInputRatio(0.1).build(), 3, 0, 1000, 122);
+        LoadTest.LoadTestReport report = loadTest.run();
+        assertEquals(1000, report.getAcceptedCount() + report.getRejectedCount());
+        assertTrue(report.getRejectedCount() > 0);
+        assertEquals(1000, report.getResponseTimes().getTotalCount());
+        assertEquals(report.getServiceTimes().getValueAtPercentile(99), report.getResponseTimes().getValueAtPercentile(99));
+    }
+
+    @Test
+    @DisplayName("Open-loop run keeps to the target rate.")
+    void openLoopRunTest() throws InterruptedException{
+        LoadTest loadTest = new LoadTest(new WorkloadGenerator.Builder().build(), 2, 2000, 200, 122);
+        LoadTest.LoadTestReport report = loadTest.run();
+        assertEquals(200, report.getServiceTimes().getTotalCount());
+        //200 requests at 2000 requests per second cannot finish in under 0.1 seconds
+        assertTrue(report.getElapsedTime() >= 99_000_000L, "Elapsed time was " + report.getElapsedTime());
+    }
+}
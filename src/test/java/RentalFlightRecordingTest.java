@@ -0,0 +1,101 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit test suite for testing the JFR events recorded with {@link RentalFlightRecording}.
+ */
+public class RentalFlightRecordingTest {
+
+    @Test
+    @DisplayName("Records checkout, charge day calculation and pricing events with their fields.")
+    void recordsCheckoutEventsTest() throws IOException{
+        Path file = Files.createTempFile("rental", ".jfr");
+        try{
+            try(Recording recording = RentalFlightRecording.start()){
+                new Checkout("CHNS", "5", "25", "7/2/15");
+                assertThrows(RuntimeException.class, () -> new Checkout("ABCD", "5", "25", "7/2/15"));
+                recording.stop();
+                recording.dump(file);
+            }
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            List<RecordedEvent> checkouts = eventsNamed(events, "cb0122.Checkout");
+            assertEquals(2, checkouts.size());
+            assertEquals("CHAINSAW", checkouts.get(0).getString("toolType"));
+            assertEquals(3, checkouts.get(0).getLong("chargeDays"));
+            assertEquals(3.35f, checkouts.get(0).getFloat("finalCharge"));
+            assertEquals("ABCD", checkouts.get(1).getString("toolCode"));
+            assertEquals("No tools with the provided Tool Code were found.  Please try again with a registered Tool Code.", checkouts.get(1).getString("failure"));
+
+            List<RecordedEvent> calculations = eventsNamed(events, "cb0122.ChargeDayCalculation");
+            assertEquals(1, calculations.size());
+            assertEquals("WEEKENDS", calculations.get(0).getString("branch"));
+            assertEquals(5, calculations.get(0).getLong("daysBetween"));
+
+            List<RecordedEvent> pricings = eventsNamed(events, "cb0122.Pricing");
+            assertEquals(1, pricings.size());
+            assertEquals(4.47f, pricings.get(0).getFloat("subTotal"));
+        }finally{
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    @DisplayName("Records cart checkout events, and one charge day calculation shared by every line of the cart.")
+    void recordsCartCheckoutEventsTest() throws IOException{
+        Path file = Files.createTempFile("rental", ".jfr");
+        try{
+            CartCheckout cartCheckout;
+            try(Recording recording = RentalFlightRecording.start()){
+                cartCheckout = new CartCheckout(List.of("CHNS", "LADW"), "5", "25", "7/2/15");
+                assertThrows(RuntimeException.class, () -> new CartCheckout(List.of(), "5", "25", "7/2/15"));
+                recording.stop();
+                recording.dump(file);
+            }
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            List<RecordedEvent> cartCheckouts = eventsNamed(events, "cb0122.CartCheckout");
+            assertEquals(2, cartCheckouts.size());
+            assertEquals("CHNS,LADW", cartCheckouts.get(0).getString("toolCodes"));
+            assertEquals(2, cartCheckouts.get(0).getInt("lineCount"));
+            assertEquals(25, cartCheckouts.get(0).getInt("discountPercent"));
+            assertEquals(cartCheckout.getRentalAgreement().getFinalCharge(), cartCheckouts.get(0).getFloat("finalCharge"));
+            assertEquals(0, cartCheckouts.get(1).getInt("lineCount"));
+            assertEquals("No Tool Codes were entered for the cart.  Please try again with at least one registered Tool Code.", cartCheckouts.get(1).getString("failure"));
+            assertTrue(eventsNamed(events, "cb0122.Checkout").isEmpty());
+
+            //7/3/15 is the observed 4th of July, and 7/4/15 and 7/5/15 are the weekend
+            List<RecordedEvent> calculations = eventsNamed(events, "cb0122.ChargeDayCalculation");
+            assertEquals(1, calculations.size());
+            assertEquals("DAY_COUNTS", calculations.get(0).getString("branch"));
+            assertEquals(5, calculations.get(0).getLong("daysBetween"));
+            assertEquals(2, calculations.get(0).getLong("weekendDays"));
+            assertEquals(1, calculations.get(0).getLong("holidays"));
+            assertEquals(2, calculations.get(0).getLong("chargeDays"));
+
+            assertEquals(2, eventsNamed(events, "cb0122.Pricing").size());
+        }finally{
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private List<RecordedEvent> eventsNamed(List<RecordedEvent> events, String name){
+        return events.stream()
+            .filter(event -> event.getEventType().getName().equals(name))
+            .sorted((first, second) -> first.getStartTime().compareTo(second.getStartTime()))
+            .collect(Collectors.toList());
+    }
+}
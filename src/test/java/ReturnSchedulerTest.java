@@ -0,0 +1,87 @@
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit test suite for testing the {@link ReturnScheduler} class.
+ */
+public class ReturnSchedulerTest {
+    private final LocalDate checkoutDate = LocalDate.of(2015, Month.JULY, 2);
+    ReturnScheduler scheduler;
+
+    @BeforeEach
+    void setUp(){
+        scheduler = new ReturnScheduler(checkoutDate);
+    }
+
+    @Test
+    @DisplayName("Reports a rental as overdue on the day after its due date with the late charge for that day.")
+    void reportsOverdueDayAfterDueDateTest(){
+        RentalAgreement agreement = new RentalAgreement(TestConstants.ridgidJackhammer, 5, 0, checkoutDate);
+        scheduler.schedule(agreement);
+
+        assertTrue(scheduler.advanceTo(agreement.getDueDate()).isEmpty());
+        List<ReturnScheduler.OverdueNotice> notices = scheduler.tick();
+        assertEquals(1, notices.size());
+        assertSame(agreement, notices.get(0).getAgreement());
+        assertEquals(agreement.getDueDate().plusDays(1), notices.get(0).getNoticeDate());
+        assertEquals(1, notices.get(0).getLateChargeDays());
+        assertEquals(2.99f, notices.get(0).getLateCharge());
+        assertEquals(0, scheduler.getPendingCount());
+    }
+
+    @Test
+    @DisplayName("Does not report a rental that was cancelled before becoming overdue.")
+    void cancelledRentalNotReportedTest(){
+        RentalAgreement agreement = new RentalAgreement(TestConstants.wernerLadder, 3, 0, checkoutDate);
+        ReturnScheduler.ScheduledReturn scheduledReturn = scheduler.schedule(agreement);
+
+        assertTrue(scheduler.cancel(scheduledReturn));
+        assertFalse(scheduler.cancel(scheduledReturn));
+        assertTrue(scheduler.advanceTo(checkoutDate.plusDays(10)).isEmpty());
+        assertEquals(0, scheduler.getPendingCount());
+    }
+
+    @Test
+    @DisplayName("Late charges skip weekends and holidays for tools that do not charge them.")
+    void lateChargeUsesChargeDayRulesTest(){
+        RentalAgreement agreement = new RentalAgreement(TestConstants.dewaltJackhammer, 1, 0, LocalDate.of(2015, Month.SEPTEMBER, 3));
+        ReturnScheduler.ScheduledReturn scheduledReturn = scheduler.schedule(agreement);
+
+        //Due 9/4/15, returned 9/9/15 skips the weekend of 9/5 and Labor Day on 9/7
+        assertEquals(5.98f, scheduler.markReturned(scheduledReturn, LocalDate.of(2015, Month.SEPTEMBER, 9)));
+        assertFalse(scheduledReturn.isPending());
+    }
+
+    @Test
+    @DisplayName("Reports every rental exactly on the day after its due date across all levels of the wheel.")
+    void reportsLongRentalsOnTimeTest(){
+        Random random = new Random(122);
+        List<RentalAgreement> agreements = new ArrayList<>();
+        for(int i = 0; i < 2000; i++){
+            RentalAgreement agreement = new RentalAgreement(TestConstants.wernerLadder, 1 + random.nextInt(6000), 0, checkoutDate);
+            agreements.add(agreement);
+            scheduler.schedule(agreement);
+        }
+
+        int reported = 0;
+        while(scheduler.getPendingCount() > 0){
+            for(ReturnScheduler.OverdueNotice notice : scheduler.tick()){
+                assertEquals(notice.getAgreement().getDueDate().plusDays(1), notice.getNoticeDate());
+                reported++;
+            }
+        }
+        assertEquals(agreements.size(), reported);
+    }
+}